@@ -8,12 +8,17 @@ import static org.lwjgl.system.MemoryStack.stackPush;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
 import abbaye.basic.Clock;
+import abbaye.graphics.GLState;
 import abbaye.model.*;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWKeyCallbackI;
@@ -25,6 +30,8 @@ import org.lwjgl.system.MemoryStack;
 public final class AbbayeMain {
   private static ObjectMapper mapper;
   private static volatile boolean glEnabled = true;
+  /* How far each press of backspace winds play back - one second */
+  static final int REWIND_STEP_TICKS = (int) Math.round(1000 / Clock.TICK_MILLIS);
 
   private boolean fullscreen = false;
   private final String windowTitle = "Abbaye Des Mortes";
@@ -32,6 +39,14 @@ public final class AbbayeMain {
   private GameDialog gameDialog;
   private long window;
 
+  /* Ticks run so far, which is the clock for recording and replaying input */
+  private long tick = 0;
+  private Optional<InputRecorder> oRecorder = Optional.empty();
+  private Optional<InputReplayer> oReplayer = Optional.empty();
+  private GLFWKeyCallbackI replayKeys;
+  /* Recent play, to wind back with backspace */
+  private Optional<RewindBuffer> oRewind = Optional.empty();
+
   public static boolean isGlEnabled() {
     return glEnabled;
   }
@@ -106,6 +121,7 @@ public final class AbbayeMain {
         });
 
     initLayer();
+    initInputLog();
     Clock.init();
     Clock.updateTimer();
   }
@@ -180,7 +196,19 @@ public final class AbbayeMain {
         Clock.updateTimer();
 
         if (!gameDialog.isActive()) {
-          layer.update();
+          // The simulation runs at a fixed rate, however fast frames are drawn
+          int ticks = Clock.consumeTicks();
+          for (int i = 0; i < ticks; i += 1) {
+            if (oReplayer.isPresent()) {
+              oReplayer.get().feed(tick, replayKeys);
+            }
+            layer.update();
+            oRecorder.ifPresent(InputRecorder::tick);
+            if (oRewind.isPresent()) {
+              oRewind.get().record(tick);
+            }
+            tick += 1;
+          }
         }
         glClear(GL_COLOR_BUFFER_BIT);
 
@@ -189,11 +217,11 @@ public final class AbbayeMain {
         } else {
           layer.render();
         }
+        GLState.endFrame();
 
         glfwSwapBuffers(window);
         glfwPollEvents();
       }
-      cleanup();
     } catch (Exception e) {
       e.printStackTrace();
       System.exit(2);
@@ -213,13 +241,96 @@ public final class AbbayeMain {
     layer.setPlayer(p);
     layer.setStage(stage);
     layer.setStatus(status);
+    var enemies = EnemyManager.load();
+    layer.setEnemies(enemies);
     layer.init();
 
+    int rewindSeconds = Config.config().getRewindSeconds();
+    if (rewindSeconds > 0) {
+      int rewindTicks = (int) Math.round(rewindSeconds * 1000 / Clock.TICK_MILLIS);
+      oRewind = Optional.of(RewindBuffer.of(Snapshot.of(p, stage, enemies), rewindTicks));
+    }
+
     gameDialog.setPlayer(p);
   }
 
+  /** Starts a new game with the stage, player and enemies already loaded */
+  void restartGame() {
+    layer.restart();
+    oRewind.ifPresent(RewindBuffer::clear);
+    Clock.resetTicks();
+  }
+
+  /**
+   * Sets up input recording or replay if the config asks for it: record = path writes a new log,
+   * replay = path plays one back in place of the keyboard. Either turns rewinding off, as a log
+   * only holds key presses and a rewind would not play back.
+   */
+  void initInputLog() {
+    var config = Config.config();
+    var record = config.getString("record", "");
+    var replay = config.getString("replay", "");
+    if (!replay.isEmpty() || !record.isEmpty()) {
+      oRewind = Optional.empty();
+    }
+    try {
+      if (!replay.isEmpty()) {
+        oReplayer = Optional.of(InputReplayer.of(Path.of(replay)));
+        replayKeys = layer.moveCallback();
+      } else if (!record.isEmpty()) {
+        oRecorder = Optional.of(new InputRecorder(Files.newOutputStream(Path.of(record))));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return the key callback to install when play starts
+   */
+  GLFWKeyCallbackI gameKeys() {
+    if (oReplayer.isPresent()) {
+      // The keyboard can still quit, but the player only follows the recording
+      return ESC_QUITS_GAME;
+    }
+    var keys = layer.moveCallback();
+    if (oRewind.isPresent()) {
+      var rewind = oRewind.get();
+      return (w, key, scancode, action, mods) -> {
+        if (key == GLFW_KEY_BACKSPACE) {
+          if (action == GLFW_PRESS) {
+            tick = rewindStep(rewind, tick);
+          }
+          return;
+        }
+        keys.invoke(w, key, scancode, action, mods);
+      };
+    }
+    return oRecorder.map(r -> r.wrap(keys)).orElse(keys);
+  }
+
+  /**
+   * Winds play back by a step, for a press of backspace.
+   *
+   * @param rewind
+   * @param tick the next tick to run
+   * @return the next tick to run now - the one after the tick play was wound back to, so that a
+   *     second press winds back a step further. Unchanged if there was nothing to wind back.
+   */
+  static long rewindStep(RewindBuffer rewind, long tick) {
+    long rewound = rewind.rewind(REWIND_STEP_TICKS);
+    return rewound >= 0 ? rewound + 1 : tick;
+  }
+
   private void cleanup() {
     layer.cleanup();
+    if (oRecorder.isPresent()) {
+      try {
+        oRecorder.get().close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
     glfwFreeCallbacks(window);
     glfwDestroyWindow(window);
     glfwTerminate();
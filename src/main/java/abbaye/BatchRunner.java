@@ -0,0 +1,167 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import abbaye.SimulationRunner.InputEvent;
+import abbaye.SimulationRunner.Result;
+import abbaye.model.Stage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many headless sessions at once, one {@link SimulationRunner} per task on a {@link
+ * ForkJoinPool}. Each session gets its own {@link GameContext}, stage, layer and enemies, so the
+ * tasks share nothing mutable and need no locking. Used to check that a physics change still plays
+ * back a whole folder of recordings the same way, e.g.
+ *
+ * <pre>
+ * java -cp target/abbayedesmorts-1.0.0-SNAPSHOT.jar abbaye.BatchRunner recordings/
+ * </pre>
+ *
+ * Arguments: a directory of recordings from {@link InputRecorder}, then optionally the number of
+ * threads (default one per core) and a config file. Each recording is run until a few seconds after
+ * its last event, and the outcome of every session is printed as CSV.
+ */
+public final class BatchRunner {
+  /* Ticks run after the last event of a recording, to let the player land */
+  static final int TAIL_TICKS = 300;
+  static final String RECORDING_SUFFIX = ".abin";
+
+  /**
+   * One session to run.
+   *
+   * @param name e.g. the recording's file name
+   * @param ticks
+   * @param script
+   */
+  public record Session(String name, int ticks, List<InputEvent> script) {}
+
+  /**
+   * @param name
+   * @param result
+   */
+  public record Outcome(String name, Result result) {
+    static final String CSV_HEADER = "name,ticks,room,x,y,lives,crosses,ticksPerSecond";
+
+    String toCsv() {
+      return String.join(
+          ",",
+          name,
+          String.valueOf(result.ticks()),
+          String.valueOf(result.room()),
+          String.valueOf(result.x()),
+          String.valueOf(result.y()),
+          String.valueOf(result.lives()),
+          String.valueOf(result.crosses()),
+          String.format("%.0f", result.ticksPerSecond()));
+    }
+  }
+
+  private final Config config;
+  private final String mapResource;
+
+  private BatchRunner(Config config, String mapResource) {
+    this.config = config;
+    this.mapResource = mapResource;
+  }
+
+  public static BatchRunner of(Config config) {
+    return of(config, Stage.defaultMap());
+  }
+
+  public static BatchRunner of(Config config, String mapResource) {
+    return new BatchRunner(config, mapResource);
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: BatchRunner <recordings dir> [threads] [config file]");
+      System.exit(1);
+    }
+    int parallelism =
+        args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+    Optional<String> oPath = args.length > 2 ? Optional.of(args[2]) : Optional.empty();
+    AbbayeMain.setGlEnabled(false);
+
+    var sessions = readSessions(Path.of(args[0]));
+    long start = System.nanoTime();
+    var outcomes = BatchRunner.of(Config.load(oPath)).run(sessions, parallelism);
+    long elapsed = System.nanoTime() - start;
+
+    System.out.println(Outcome.CSV_HEADER);
+    long ticks = 0;
+    for (var outcome : outcomes) {
+      System.out.println(outcome.toCsv());
+      ticks += outcome.result().ticks();
+    }
+    System.err.printf(
+        "%d sessions, %d ticks in %d ms on %d threads%n",
+        outcomes.size(), ticks, elapsed / 1_000_000, parallelism);
+  }
+
+  /**
+   * Runs every session to completion.
+   *
+   * @param sessions
+   * @param parallelism how many sessions to run at once
+   * @return the outcomes, in the same order as the sessions
+   */
+  public List<Outcome> run(List<Session> sessions, int parallelism) {
+    var tasks = new ArrayList<Callable<Outcome>>(sessions.size());
+    for (var session : sessions) {
+      tasks.add(() -> runOne(session));
+    }
+
+    var pool = new ForkJoinPool(parallelism);
+    try {
+      var out = new ArrayList<Outcome>(sessions.size());
+      for (Future<Outcome> future : pool.invokeAll(tasks)) {
+        out.add(future.get());
+      }
+      return out;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Batch run interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Session failed", e.getCause());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Runs one session on the calling thread.
+   *
+   * @param session
+   * @return its outcome
+   */
+  public Outcome runOne(Session session) {
+    var context = GameContext.of(config.copy());
+    var runner = SimulationRunner.of(context, mapResource);
+    return new Outcome(session.name(), runner.run(session.ticks(), session.script()));
+  }
+
+  ///////////// Helpers
+
+  static List<Session> readSessions(Path dir) throws IOException {
+    List<Path> paths;
+    try (var files = Files.list(dir)) {
+      paths = files.filter(p -> p.toString().endsWith(RECORDING_SUFFIX)).sorted().toList();
+    }
+    var out = new ArrayList<Session>(paths.size());
+    for (var path : paths) {
+      var replayer = InputReplayer.of(path);
+      out.add(
+          new Session(
+              path.getFileName().toString(), replayer.lastTick() + TAIL_TICKS, replayer.events()));
+    }
+    return out;
+  }
+}
@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye;
 
 import abbaye.logs.GameLogger;
@@ -21,6 +21,7 @@ public final class Config {
 
   private static final String DEFAULT_CONFIG_RESOURCE = "/abbaye.properties";
   private static final float DEFAULT_GRAVITY = 16.0f;
+  private static final int DEFAULT_REWIND_SECONDS = 10;
   private static Config instance = null;
 
   private final Properties properties;
@@ -34,6 +35,16 @@ public final class Config {
     properties = new Properties();
   }
 
+  /**
+   * Constructor that copies the supplied properties.
+   *
+   * @param properties
+   */
+  private Config(Properties properties) {
+    this.properties = new Properties();
+    this.properties.putAll(properties);
+  }
+
   /**
    * Constructor that loads properties from a resource.
    *
@@ -82,6 +93,26 @@ public final class Config {
     return instance;
   }
 
+  /**
+   * A config of its own, separate from the process-wide one, e.g. for one of many simulations
+   * running side by side.
+   *
+   * @param oFilePath a properties file, or empty for the defaults
+   * @return a new config
+   */
+  public static Config load(Optional<String> oFilePath) {
+    return oFilePath
+        .map(p -> new Config(Path.of(p)))
+        .orElseGet(() -> new Config(DEFAULT_CONFIG_RESOURCE));
+  }
+
+  /**
+   * @return a new config with the same settings, which can then be changed independently
+   */
+  public Config copy() {
+    return new Config(properties);
+  }
+
   // Mutation methods
 
   public void resetLevel() {
@@ -141,6 +172,13 @@ public final class Config {
     return getBoolean("fullscreen", false);
   }
 
+  /**
+   * @return how many seconds of play can be wound back, or 0 for none
+   */
+  public int getRewindSeconds() {
+    return getInt("rewindseconds", DEFAULT_REWIND_SECONDS);
+  }
+
   public boolean getGLActive() {
     if (oHeadless.isPresent()) {
       return !oHeadless.get();
@@ -0,0 +1,70 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import abbaye.basic.Clock;
+import abbaye.logs.GameLogger;
+
+/**
+ * What one running game needs from its surroundings: config, logger and the simulation clock. The
+ * windowed game uses the process-wide instance. Headless simulations each get their own, so that
+ * many can run side by side in one JVM without sharing any mutable state.
+ *
+ * <p>The clock here counts fixed ticks. Frame timing for the window stays in {@link Clock}.
+ */
+public final class GameContext {
+  private static GameContext global = null;
+
+  private final Config config;
+  private final GameLogger logger;
+  private long tick = 0;
+
+  private GameContext(Config config) {
+    this.config = config;
+    this.logger = config.getLogger();
+  }
+
+  /**
+   * @return the context built on the process-wide config
+   */
+  public static synchronized GameContext global() {
+    if (global == null) {
+      global = new GameContext(Config.config());
+    }
+    return global;
+  }
+
+  /**
+   * @param config
+   * @return a new context of its own
+   */
+  public static GameContext of(Config config) {
+    return new GameContext(config);
+  }
+
+  public Config getConfig() {
+    return config;
+  }
+
+  public GameLogger getLogger() {
+    return logger;
+  }
+
+  /** Call once after every simulation tick */
+  public void tick() {
+    tick += 1;
+  }
+
+  /**
+   * @return the ticks run so far
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  /**
+   * @return simulated time so far, in seconds
+   */
+  public double getSeconds() {
+    return tick * Clock.TICK_MILLIS / 1000.0;
+  }
+}
@@ -4,14 +4,12 @@ package abbaye;
 import static abbaye.graphics.GLManager.*;
 import static org.lwjgl.glfw.GLFW.*;
 import static org.lwjgl.opengl.GL11.*;
-import static org.lwjgl.opengl.GL13.GL_TEXTURE0;
-import static org.lwjgl.opengl.GL13.glActiveTexture;
-import static org.lwjgl.opengl.GL20.*;
-import static org.lwjgl.opengl.GL30.glBindVertexArray;
 import static org.lwjgl.system.MemoryStack.stackPush;
 
 import abbaye.basic.Corners;
+import abbaye.basic.Matrix4f;
 import abbaye.graphics.GLManager;
+import abbaye.graphics.GLState;
 import abbaye.model.Player;
 import java.nio.IntBuffer;
 import org.lwjgl.system.MemoryStack;
@@ -44,12 +42,15 @@ public class GameDialog {
     reset();
   }
 
-  private static float[] PROJECTION_MATRIX = {
-    6.0f, 0.0f, Z_ZERO, 0.0f,
-    0.0f, 6.0f, Z_ZERO, 0.0f,
-    0.0f, 0.0f, Z_ZERO, 0.0f,
-    -1.0f, -1.0f, Z_ZERO, 1.0f
-  };
+  private static final Matrix4f PROJECTION_MATRIX =
+      new Matrix4f()
+          .set(
+              new float[] {
+                6.0f, 0.0f, Z_ZERO, 0.0f,
+                0.0f, 6.0f, Z_ZERO, 0.0f,
+                0.0f, 0.0f, Z_ZERO, 0.0f,
+                -1.0f, -1.0f, Z_ZERO, 1.0f
+              });
 
   public void render() {
     switch (state) {
@@ -68,20 +69,20 @@ public class GameDialog {
         }
 
         var shaderProgram = glManager.getShaderProgram();
-        glUseProgram(shaderProgram);
+        GLState.useProgram(shaderProgram);
         // Set texture uniform
-        glUniform1i(glGetUniformLocation(shaderProgram, "splashTexture"), 0);
+        GLState.uniform1i(GLState.uniformLocation(shaderProgram, "splashTexture"), 0);
 
         // Set alpha uniform for fade effect
-        glUniform1f(glGetUniformLocation(shaderProgram, "alpha"), 1.0f);
-
-        // Bind texture
-        glActiveTexture(GL_TEXTURE0);
-        glManager.bindTexture("introSplash");
-        glBindVertexArray(glManager.getVAO());
+        GLState.uniform1f(GLState.uniformLocation(shaderProgram, "alpha"), 1.0f);
 
+        GLState.activeTexture(0);
         int splashPage = currentSplashPage(glfwGetTime() - splashStartTimeSeconds);
-        glManager.renderTile(splashPage == 0 ? INTRO_PAGE_1 : INTRO_PAGE_2, PROJECTION_MATRIX);
+        var batch = glManager.getBatch();
+        batch.setTransform(PROJECTION_MATRIX);
+        batch.begin("introSplash");
+        batch.draw(splashPage == 0 ? INTRO_PAGE_1 : INTRO_PAGE_2, 0, 0, 1, 1);
+        batch.flush();
       }
       case END -> {
         // Used for testing
@@ -93,7 +94,7 @@ public class GameDialog {
 
         if (glfwGetKey(window, GLFW_KEY_TAB) == GLFW_PRESS) {
           reset();
-          mainClass.initLayer();
+          mainClass.restartGame();
         }
       }
     }
@@ -108,7 +109,7 @@ public class GameDialog {
 
   public void startTurn() {
     state = State.INACTIVE;
-    glfwSetKeyCallback(window, mainClass.getLayer().moveCallback());
+    glfwSetKeyCallback(window, mainClass.gameKeys());
   }
 
   public void setPlayer(Player player) {
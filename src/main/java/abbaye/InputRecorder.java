@@ -0,0 +1,108 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+import java.io.*;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+
+/**
+ * Writes the player's key events, with the simulation tick they arrived before, to an append-only
+ * binary log that {@link InputReplayer} can play back.
+ *
+ * <p>The log is a 4 byte magic number and a version byte, then one entry per event: the ticks since
+ * the previous event as an unsigned LEB128 varint, and one byte holding the key and the action. A
+ * typical event takes two bytes.
+ */
+public final class InputRecorder implements Closeable {
+  static final byte[] MAGIC = {'A', 'B', 'I', 'N'};
+  static final int VERSION = 1;
+
+  /* Only these keys reach the simulation - the index in this array is what gets written */
+  static final int[] KEYS = {GLFW_KEY_LEFT, GLFW_KEY_RIGHT, GLFW_KEY_UP, GLFW_KEY_DOWN};
+
+  private final OutputStream out;
+  private long tick = 0;
+  private long lastEventTick = 0;
+  private int events = 0;
+
+  public InputRecorder(OutputStream out) throws IOException {
+    this.out = new BufferedOutputStream(out);
+    this.out.write(MAGIC);
+    this.out.write(VERSION);
+  }
+
+  /**
+   * @param target the callback that drives the game
+   * @return a callback that records each game key before passing every event on to the target
+   */
+  public GLFWKeyCallbackI wrap(GLFWKeyCallbackI target) {
+    return (window, key, scancode, action, mods) -> {
+      record(key, action);
+      target.invoke(window, key, scancode, action, mods);
+    };
+  }
+
+  /**
+   * Records an event for the next tick to be run. Key repeats and keys that do not move the player
+   * are dropped.
+   *
+   * @param key a GLFW key code
+   * @param action GLFW_PRESS or GLFW_RELEASE
+   */
+  public void record(int key, int action) {
+    int index = keyIndex(key);
+    if (index < 0 || (action != GLFW_PRESS && action != GLFW_RELEASE)) {
+      return;
+    }
+    try {
+      writeVarLong(tick - lastEventTick);
+      out.write(encode(index, action));
+      lastEventTick = tick;
+      events += 1;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Call once after every simulation tick */
+  public void tick() {
+    tick += 1;
+  }
+
+  public long getTick() {
+    return tick;
+  }
+
+  public int getEvents() {
+    return events;
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  ///////////// Helpers
+
+  static int keyIndex(int key) {
+    for (int i = 0; i < KEYS.length; i += 1) {
+      if (KEYS[i] == key) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int encode(int keyIndex, int action) {
+    return keyIndex << 1 | (action == GLFW_PRESS ? 1 : 0);
+  }
+
+  private void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+}
@@ -0,0 +1,134 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.SimulationRunner.InputEvent;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+
+/**
+ * Plays back a log written by {@link InputRecorder}. Events go through the same key callback that
+ * live input uses, either all at once to a {@link SimulationRunner} or tick by tick in the windowed
+ * game.
+ */
+public final class InputReplayer {
+  private final List<InputEvent> events;
+  private int next = 0;
+
+  private InputReplayer(List<InputEvent> events) {
+    this.events = events;
+  }
+
+  public static InputReplayer of(Path path) throws IOException {
+    try (var in = Files.newInputStream(path)) {
+      return of(in);
+    }
+  }
+
+  public static InputReplayer of(InputStream input) throws IOException {
+    var in = new BufferedInputStream(input);
+    var magic = in.readNBytes(InputRecorder.MAGIC.length);
+    if (!Arrays.equals(magic, InputRecorder.MAGIC)) {
+      throw new IOException("Not an input recording");
+    }
+    int version = in.read();
+    if (version != InputRecorder.VERSION) {
+      throw new IOException("Unsupported input recording version: " + version);
+    }
+
+    var events = new ArrayList<InputEvent>();
+    long tick = 0;
+    while (true) {
+      long delta = readVarLong(in);
+      if (delta < 0) {
+        break;
+      }
+      int code = in.read();
+      if (code < 0) {
+        throw new EOFException("Input recording ends mid-event");
+      }
+      if (code >> 1 >= InputRecorder.KEYS.length) {
+        throw new IOException("Malformed event in input recording: " + code);
+      }
+      tick += delta;
+      var key = InputRecorder.KEYS[code >> 1];
+      var action = (code & 1) == 1 ? GLFW_PRESS : GLFW_RELEASE;
+      events.add(new InputEvent((int) tick, key, action));
+    }
+    return new InputReplayer(events);
+  }
+
+  /**
+   * @param path a file
+   * @return true if the file starts like an input recording
+   */
+  public static boolean isRecording(Path path) throws IOException {
+    try (var in = Files.newInputStream(path)) {
+      return Arrays.equals(in.readNBytes(InputRecorder.MAGIC.length), InputRecorder.MAGIC);
+    }
+  }
+
+  /**
+   * Delivers every event due before the given tick, for replay inside a running game.
+   *
+   * @param tick the tick about to be run
+   * @param target the game's key callback
+   */
+  public void feed(long tick, GLFWKeyCallbackI target) {
+    while (next < events.size() && events.get(next).tick() <= tick) {
+      var event = events.get(next);
+      target.invoke(0L, event.key(), 0, event.action(), 0);
+      next += 1;
+    }
+  }
+
+  /**
+   * @return true once every event has been delivered by feed()
+   */
+  public boolean isFinished() {
+    return next >= events.size();
+  }
+
+  /**
+   * @return all events, in tick order
+   */
+  public List<InputEvent> events() {
+    return events;
+  }
+
+  /**
+   * @return the tick of the last event, which is the shortest run that replays everything
+   */
+  public int lastTick() {
+    return events.isEmpty() ? 0 : events.get(events.size() - 1).tick();
+  }
+
+  ///////////// Helpers
+
+  /**
+   * @return the value, or -1 at a clean end of stream
+   */
+  private static long readVarLong(InputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.read();
+      if (b < 0) {
+        if (shift == 0) {
+          return -1;
+        }
+        throw new EOFException("Input recording ends mid-event");
+      }
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed tick delta in input recording");
+  }
+}
@@ -0,0 +1,227 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.lwjgl.glfw.GLFW.*;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+
+import abbaye.basic.Clock;
+import abbaye.graphics.GLState;
+import abbaye.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.lwjgl.glfw.GLFWErrorCallback;
+import org.lwjgl.opengl.GL;
+
+/**
+ * Renders every room of the real map in an invisible window and reports how long each frame took,
+ * so renderer changes can be compared on a machine with no GPU or display. For a software context
+ * run it under Mesa, e.g.
+ *
+ * <pre>
+ * LIBGL_ALWAYS_SOFTWARE=1 xvfb-run java -cp target/abbayedesmorts-1.0.0-SNAPSHOT.jar \
+ *     abbaye.RenderBenchmark 300 csv
+ * </pre>
+ *
+ * Arguments, all optional: frames per room (default 120), output format csv or json (default csv)
+ * and a config file, which is where e.g. the stagerenderer under test is chosen. Setting
+ * -Dabbaye.glfw.null=true uses the GLFW null platform, which needs no display server at all but
+ * does need OSMesa.
+ */
+public final class RenderBenchmark {
+  static final int DEFAULT_FRAMES = 120;
+  static final int WARMUP_FRAMES = 10;
+
+  /**
+   * Timings for one room, in milliseconds. GL counts are averaged over the measured frames.
+   *
+   * @param room
+   * @param frames
+   * @param meanMillis
+   * @param p50Millis
+   * @param p99Millis
+   * @param drawCalls
+   * @param binds
+   * @param uniformUploads
+   * @param bufferUploads
+   */
+  public record RoomResult(
+      int room,
+      int frames,
+      double meanMillis,
+      double p50Millis,
+      double p99Millis,
+      double drawCalls,
+      double binds,
+      double uniformUploads,
+      double bufferUploads) {
+
+    static final String CSV_HEADER =
+        "room,frames,mean_ms,p50_ms,p99_ms,draw_calls,binds,uniform_uploads,buffer_uploads";
+
+    String toCsv() {
+      return String.format(
+          "%d,%d,%.4f,%.4f,%.4f,%.1f,%.1f,%.1f,%.1f",
+          room,
+          frames,
+          meanMillis,
+          p50Millis,
+          p99Millis,
+          drawCalls,
+          binds,
+          uniformUploads,
+          bufferUploads);
+    }
+  }
+
+  private final int frames;
+  private final Layer layer = new Layer();
+  private Stage stage;
+  private long window;
+
+  RenderBenchmark(int frames) {
+    this.frames = frames;
+  }
+
+  public static void main(String[] args) throws JsonProcessingException {
+    int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+    var format = args.length > 1 ? args[1] : "csv";
+    Optional<String> oPath = args.length > 2 ? Optional.of(args[2]) : Optional.empty();
+    Config.config(oPath);
+
+    var benchmark = new RenderBenchmark(frames);
+    benchmark.init();
+    var results = benchmark.run();
+    benchmark.cleanup();
+
+    switch (format) {
+      case "json" ->
+          System.out.println(
+              AbbayeMain.getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(results));
+      case "csv" -> {
+        System.out.println(RoomResult.CSV_HEADER);
+        for (var result : results) {
+          System.out.println(result.toCsv());
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown output format: " + format);
+    }
+  }
+
+  /** Creates an invisible window and the same layer the game draws */
+  void init() {
+    GLFWErrorCallback.createPrint(System.err).set();
+    if (Boolean.getBoolean("abbaye.glfw.null")) {
+      glfwInitHint(GLFW_PLATFORM, GLFW_PLATFORM_NULL);
+    }
+    AbbayeMain.glStaticInit();
+
+    var config = Config.config();
+    window =
+        glfwCreateWindow(
+            config.getScreenWidth(), config.getScreenHeight(), "Render benchmark", NULL, NULL);
+    if (window == NULL) {
+      throw new RuntimeException("Failed to create the GLFW window");
+    }
+    glfwMakeContextCurrent(window);
+    // Never wait for vsync - we want the cost of the frame, not the refresh rate
+    glfwSwapInterval(0);
+    GL.createCapabilities();
+    glEnable(GL_BLEND);
+    glBlendFunc(GL_SRC_ALPHA, GL_ONE_MINUS_SRC_ALPHA);
+
+    stage = new Stage();
+    stage.load(window);
+    var player = Player.of(layer, stage);
+    player.init();
+    var status = StatusDisplay.of(player, stage);
+    status.init();
+    layer.setPlayer(player);
+    layer.setStage(stage);
+    layer.setStatus(status);
+    layer.init();
+
+    Clock.init();
+  }
+
+  /**
+   * @return one result per room, in room order
+   */
+  List<RoomResult> run() {
+    var results = new ArrayList<RoomResult>();
+    var nanos = new long[frames];
+    for (int room = 0; room < Stage.NUM_SCREENS; room += 1) {
+      stage.setRoom(room);
+      for (int i = 0; i < WARMUP_FRAMES; i += 1) {
+        renderFrame();
+        GLState.endFrame();
+      }
+
+      long draws = 0, binds = 0, uniforms = 0, uploads = 0;
+      for (int i = 0; i < frames; i += 1) {
+        nanos[i] = renderFrame();
+        var stats = GLState.endFrame();
+        draws += stats.drawCalls();
+        binds += stats.binds();
+        uniforms += stats.uniformUploads();
+        uploads += stats.bufferUploads();
+      }
+      results.add(summarise(room, nanos, draws, binds, uniforms, uploads));
+    }
+    return results;
+  }
+
+  void cleanup() {
+    layer.cleanup();
+    glfwDestroyWindow(window);
+    glfwTerminate();
+    glfwSetErrorCallback(null);
+  }
+
+  ///////////// Helpers
+
+  /**
+   * Draws one frame and waits for the GPU to finish it.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  private long renderFrame() {
+    Clock.updateTimer();
+    long start = System.nanoTime();
+    glClear(GL_COLOR_BUFFER_BIT);
+    layer.render();
+    glFinish();
+    long elapsed = System.nanoTime() - start;
+    glfwPollEvents();
+    return elapsed;
+  }
+
+  private RoomResult summarise(
+      int room, long[] nanos, long draws, long binds, long uniforms, long uploads) {
+    Arrays.sort(nanos);
+    double total = 0;
+    for (long n : nanos) {
+      total += n;
+    }
+    double n = frames;
+    return new RoomResult(
+        room,
+        frames,
+        total / n / 1_000_000.0,
+        percentile(nanos, 50) / 1_000_000.0,
+        percentile(nanos, 99) / 1_000_000.0,
+        draws / n,
+        binds / n,
+        uniforms / n,
+        uploads / n);
+  }
+
+  /** Nearest-rank percentile of sorted values */
+  static long percentile(long[] sorted, int percent) {
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
@@ -0,0 +1,225 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.model.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+
+/**
+ * Steps the game simulation with no window and no GL, as fast as the CPU allows, feeding it a
+ * scripted stream of key presses. Used to soak-test physics changes and to measure tick throughput
+ * apart from rendering, e.g.
+ *
+ * <pre>
+ * java -cp target/abbayedesmorts-1.0.0-SNAPSHOT.jar abbaye.SimulationRunner 1000000 walk.txt
+ * </pre>
+ *
+ * Arguments, all optional: the number of ticks (default 100000), an input script and a config file.
+ * A script has one event per line, as tick, key and action, e.g. {@code 120 RIGHT PRESS}. Blank
+ * lines and lines starting with # are ignored. A binary recording from {@link InputRecorder} can be
+ * given in place of a script.
+ *
+ * <p>A runner built with its own {@link GameContext} shares no mutable state with any other, so
+ * several can run at once on different threads - see {@link BatchRunner}.
+ */
+public final class SimulationRunner {
+  static final int DEFAULT_TICKS = 100_000;
+  /* There is no window - only ESC touches the window handle, and scripts cannot send it */
+  private static final long NULL_WINDOW = 0L;
+
+  /**
+   * One key event, delivered just before the given tick is run.
+   *
+   * @param tick
+   * @param key a GLFW key code
+   * @param action GLFW_PRESS or GLFW_RELEASE
+   */
+  public record InputEvent(int tick, int key, int action) {
+    static final Comparator<InputEvent> BY_TICK = Comparator.comparingInt(InputEvent::tick);
+
+    /**
+     * @param line e.g. "120 RIGHT PRESS"
+     * @return the event
+     */
+    public static InputEvent parse(String line) {
+      var parts = line.trim().split("\\s+");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Expected tick, key and action: " + line);
+      }
+      var key =
+          switch (parts[1]) {
+            case "LEFT" -> GLFW_KEY_LEFT;
+            case "RIGHT" -> GLFW_KEY_RIGHT;
+            case "UP" -> GLFW_KEY_UP;
+            case "DOWN" -> GLFW_KEY_DOWN;
+            default -> throw new IllegalArgumentException("Unknown key: " + parts[1]);
+          };
+      var action =
+          switch (parts[2]) {
+            case "PRESS" -> GLFW_PRESS;
+            case "RELEASE" -> GLFW_RELEASE;
+            default -> throw new IllegalArgumentException("Unknown action: " + parts[2]);
+          };
+      return new InputEvent(Integer.parseInt(parts[0]), key, action);
+    }
+  }
+
+  /**
+   * How a run went, and where it left the player.
+   *
+   * @param ticks
+   * @param elapsedNanos
+   * @param ticksPerSecond
+   * @param room
+   * @param x
+   * @param y
+   * @param lives
+   * @param crosses
+   */
+  public record Result(
+      long ticks,
+      long elapsedNanos,
+      double ticksPerSecond,
+      int room,
+      float x,
+      float y,
+      int lives,
+      int crosses) {}
+
+  private final GameContext context;
+  private final Layer layer;
+  private final Stage stage = new Stage();
+  private final Player player;
+  private final EnemyManager enemies = EnemyManager.load();
+  private final Snapshot snapshot;
+  private final GLFWKeyCallbackI keys;
+
+  private SimulationRunner(GameContext context, String mapResource) {
+    AbbayeMain.setGlEnabled(false);
+    this.context = context;
+    layer = new Layer(context);
+    stage.load(mapResource);
+    player = Player.of(layer, stage);
+    layer.setPlayer(player);
+    layer.setStage(stage);
+    layer.setEnemies(enemies);
+    layer.init();
+    snapshot = Snapshot.of(player, stage, enemies);
+    keys = layer.moveCallback();
+  }
+
+  public static SimulationRunner of() {
+    return of(Stage.defaultMap());
+  }
+
+  public static SimulationRunner of(String mapResource) {
+    return of(GameContext.of(Config.config()), mapResource);
+  }
+
+  public static SimulationRunner of(GameContext context, String mapResource) {
+    return new SimulationRunner(context, mapResource);
+  }
+
+  public static void main(String[] args) throws IOException {
+    int ticks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKS;
+    List<InputEvent> script = List.of();
+    if (args.length > 1) {
+      var scriptPath = Path.of(args[1]);
+      script =
+          InputReplayer.isRecording(scriptPath)
+              ? InputReplayer.of(scriptPath).events()
+              : readScript(scriptPath);
+    }
+    Optional<String> oPath = args.length > 2 ? Optional.of(args[2]) : Optional.empty();
+    Config.config(oPath);
+
+    var result = SimulationRunner.of().run(ticks, script);
+    try {
+      System.out.println(
+          AbbayeMain.getMapper().writerWithDefaultPrettyPrinter().writeValueAsString(result));
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Runs the simulation on from wherever the last run stopped. Event ticks are counted from the
+   * start of this run.
+   *
+   * @param ticks how many ticks to run
+   * @param script the input events, in any order
+   * @return the throughput and the final state
+   */
+  public Result run(int ticks, List<InputEvent> script) {
+    var events = new ArrayList<>(script);
+    events.sort(InputEvent.BY_TICK);
+
+    int next = 0;
+    long start = System.nanoTime();
+    for (int t = 0; t < ticks; t += 1) {
+      while (next < events.size() && events.get(next).tick() <= t) {
+        var event = events.get(next);
+        keys.invoke(NULL_WINDOW, event.key(), 0, event.action(), 0);
+        next += 1;
+      }
+      layer.update();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    var pos = player.getPos();
+    return new Result(
+        ticks,
+        elapsed,
+        elapsed > 0 ? ticks * 1_000_000_000.0 / elapsed : 0,
+        stage.getRoom(),
+        pos.x(),
+        pos.y(),
+        player.getLives(),
+        player.getCrosses());
+  }
+
+  /**
+   * @return the ticks run so far, over all runs
+   */
+  public long getTick() {
+    return context.getTick();
+  }
+
+  public Player getPlayer() {
+    return player;
+  }
+
+  public Stage getStage() {
+    return stage;
+  }
+
+  /**
+   * @return saves and restores this runner's game, e.g. to run on from the same point twice
+   */
+  public Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  ///////////// Helpers
+
+  static List<InputEvent> readScript(Path path) throws IOException {
+    var out = new ArrayList<InputEvent>();
+    for (var line : Files.readAllLines(path)) {
+      var trimmed = line.trim();
+      if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+        continue;
+      }
+      out.add(InputEvent.parse(trimmed));
+    }
+    return out;
+  }
+}
@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2004-2025 */
+/* Copyright (C) The Authors 2004-2026 */
 package abbaye.basic;
 
 import static abbaye.graphics.GLManager.*;
@@ -20,14 +20,14 @@ public sealed interface Actor extends Renderable permits Player, Enemy {
   default void destroy() {}
 
   /**
-   * Update the position of the physical object.
+   * Update the position of the physical object by one simulation tick.
    *
    * @return the new position
    */
   default Vector2 newPosition() {
     return new Vector2(
-        (float) (getPos().x() + getV().x() * Clock.getFrameInterval() * getMoveSpeed()),
-        (float) (getPos().y() + getV().y() * Clock.getFrameInterval() * getMoveSpeed()));
+        (float) (getPos().x() + getV().x() * Clock.TICK_MILLIS * getMoveSpeed()),
+        (float) (getPos().y() + getV().y() * Clock.TICK_MILLIS * getMoveSpeed()));
   }
 
   default float getMoveSpeed() {
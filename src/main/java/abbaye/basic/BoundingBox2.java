@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2004-2025 */
+/* Copyright (C) The Authors 2004-2026 */
 package abbaye.basic;
 
 public record BoundingBox2(Vector2 centre, Vector2 size) {
@@ -20,16 +20,16 @@ public record BoundingBox2(Vector2 centre, Vector2 size) {
   }
 
   public boolean overlaps(BoundingBox2 other) {
-    // Check if two bounding boxes collide
-    var l = left();
-    var r = right();
-    var t = top();
-    var b = bottom();
-    var ol = other.left();
-    var or = other.right();
-    var ot = other.top();
-    var ob = other.bottom();
+    return overlaps(
+        left(), top(), right(), bottom(), other.left(), other.top(), other.right(), other.bottom());
+  }
 
+  /**
+   * Check if two boxes collide, given as edges so that hot loops need not build records. Touching
+   * edges count as a collision.
+   */
+  public static boolean overlaps(
+      float l, float t, float r, float b, float ol, float ot, float or, float ob) {
     return (l <= or && r >= ol) && (t <= ob && b >= ot);
   }
 }
@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2004-2025 */
+/* Copyright (C) The Authors 2004-2026 */
 package abbaye.basic;
 
 import static org.lwjgl.glfw.GLFW.glfwGetTime;
@@ -6,7 +6,19 @@ import static org.lwjgl.glfw.GLFW.glfwGetTime;
 import abbaye.Config;
 
 public final class Clock {
+  /**
+   * The simulation always advances in steps of this many milliseconds, whatever the display does
+   */
+  public static final double TICK_MILLIS = 1000.0 / 60;
+
+  /**
+   * The most ticks run to catch up in one frame. Beyond this the simulation slows down rather than
+   * spending ever longer catching up (e.g. after a stall or a breakpoint).
+   */
+  public static final int MAX_TICKS_PER_FRAME = 5;
+
   private static double frameInterval = 0;
+  private static double accumulator = 0;
   private static double frameTime;
   private static int fps = 0;
 
@@ -15,6 +27,8 @@ public final class Clock {
 
   public static void init() {
     frameTime = glfwGetTime() * 1000;
+    lastTime = frameTime;
+    accumulator = 0;
     Config.config().getLogger().debug("Timer initialized, timer: " + frameTime);
   }
 
@@ -32,6 +46,37 @@ public final class Clock {
     Config.config().getLogger().debug("FPS: " + fps);
   }
 
+  /**
+   * Adds the last frame's interval to the time owed to the simulation and takes as many whole ticks
+   * from it as are due. Call once per rendered frame, then run that many ticks.
+   *
+   * @return the number of ticks to run, at most MAX_TICKS_PER_FRAME
+   */
+  public static int consumeTicks() {
+    accumulator += frameInterval;
+    int ticks = (int) (accumulator / TICK_MILLIS);
+    if (ticks > MAX_TICKS_PER_FRAME) {
+      // Drop the time we cannot catch up on
+      ticks = MAX_TICKS_PER_FRAME;
+      accumulator = 0;
+    } else {
+      accumulator -= ticks * TICK_MILLIS;
+    }
+    return ticks;
+  }
+
+  /**
+   * @return how far we are between the last tick and the next, 0 <= alpha < 1, for rendering
+   */
+  public static float getInterpolationAlpha() {
+    return (float) (accumulator / TICK_MILLIS);
+  }
+
+  /** Forgets any time owed to the simulation, e.g. when play resumes after a dialog */
+  public static void resetTicks() {
+    accumulator = 0;
+  }
+
   public static double getFrameInterval() {
     return frameInterval;
   }
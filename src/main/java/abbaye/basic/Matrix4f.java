@@ -0,0 +1,159 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.basic;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A mutable 4x4 matrix, stored in column-major order as OpenGL expects. Unlike the vector records,
+ * every operation works in place and returns this, so one instance can be reused every frame
+ * without producing garbage.
+ */
+public final class Matrix4f {
+  private final float[] m = new float[16];
+
+  /** Creates an identity matrix. */
+  public Matrix4f() {
+    identity();
+  }
+
+  /**
+   * Sets this matrix to the identity.
+   *
+   * @return this
+   */
+  public Matrix4f identity() {
+    for (int i = 0; i < 16; i += 1) {
+      m[i] = 0.0f;
+    }
+    m[0] = 1.0f;
+    m[5] = 1.0f;
+    m[10] = 1.0f;
+    m[15] = 1.0f;
+    return this;
+  }
+
+  /**
+   * Copies the values of another matrix into this one.
+   *
+   * @param other The other matrix
+   * @return this
+   */
+  public Matrix4f set(Matrix4f other) {
+    System.arraycopy(other.m, 0, m, 0, 16);
+    return this;
+  }
+
+  /**
+   * Sets this matrix from 16 values in column-major order.
+   *
+   * @param values The values
+   * @return this
+   */
+  public Matrix4f set(float... values) {
+    System.arraycopy(values, 0, m, 0, 16);
+    return this;
+  }
+
+  /**
+   * Sets this matrix to an orthographic projection.
+   *
+   * @return this
+   */
+  public Matrix4f ortho(float left, float right, float bottom, float top, float near, float far) {
+    identity();
+    m[0] = 2.0f / (right - left);
+    m[5] = 2.0f / (top - bottom);
+    m[10] = -2.0f / (far - near);
+    m[12] = -(right + left) / (right - left);
+    m[13] = -(top + bottom) / (top - bottom);
+    m[14] = -(far + near) / (far - near);
+    return this;
+  }
+
+  /**
+   * Multiplies this matrix by a translation, i.e. the translation is applied before this matrix.
+   *
+   * @return this
+   */
+  public Matrix4f translate(float x, float y, float z) {
+    m[12] += m[0] * x + m[4] * y + m[8] * z;
+    m[13] += m[1] * x + m[5] * y + m[9] * z;
+    m[14] += m[2] * x + m[6] * y + m[10] * z;
+    m[15] += m[3] * x + m[7] * y + m[11] * z;
+    return this;
+  }
+
+  /**
+   * Multiplies this matrix by a scale, i.e. the scale is applied before this matrix.
+   *
+   * @return this
+   */
+  public Matrix4f scale(float x, float y, float z) {
+    for (int row = 0; row < 4; row += 1) {
+      m[row] *= x;
+      m[4 + row] *= y;
+      m[8 + row] *= z;
+    }
+    return this;
+  }
+
+  /**
+   * Multiplies this matrix by another, so that this = this * other.
+   *
+   * @param other The other matrix, which may be this one
+   * @return this
+   */
+  public Matrix4f mul(Matrix4f other) {
+    // Squaring reads columns of this matrix after they are overwritten, so work from a copy
+    var o = other == this ? m.clone() : other.m;
+    for (int row = 0; row < 4; row += 1) {
+      // The row of this matrix is read in full before any of it is overwritten
+      float r0 = m[row];
+      float r1 = m[4 + row];
+      float r2 = m[8 + row];
+      float r3 = m[12 + row];
+      for (int col = 0; col < 4; col += 1) {
+        m[col * 4 + row] =
+            r0 * o[col * 4] + r1 * o[col * 4 + 1] + r2 * o[col * 4 + 2] + r3 * o[col * 4 + 3];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Gets a single element.
+   *
+   * @param col Column index
+   * @param row Row index
+   * @return The element
+   */
+  public float get(int col, int row) {
+    return m[col * 4 + row];
+  }
+
+  /**
+   * Stores the matrix in column-major order in a given buffer, starting at its current position.
+   * The position is left unchanged so the buffer can be passed straight to glUniformMatrix4fv.
+   *
+   * @param buffer The buffer to store the matrix data
+   * @return the buffer
+   */
+  public FloatBuffer get(FloatBuffer buffer) {
+    int base = buffer.position();
+    for (int i = 0; i < 16; i += 1) {
+      buffer.put(base + i, m[i]);
+    }
+    return buffer;
+  }
+
+  /**
+   * Stores the matrix in column-major order in a given array.
+   *
+   * @param dest The array to store the matrix data
+   * @return the array
+   */
+  public float[] get(float[] dest) {
+    System.arraycopy(m, 0, dest, 0, 16);
+    return dest;
+  }
+}
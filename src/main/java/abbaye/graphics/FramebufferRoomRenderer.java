@@ -0,0 +1,248 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+
+import abbaye.basic.Matrix4f;
+import abbaye.model.Stage;
+import abbaye.model.TileAnimations;
+import java.nio.IntBuffer;
+
+/**
+ * Draws the static part of the current room once into an offscreen framebuffer and blits it every
+ * frame. Only animated tiles are drawn per frame, and a tile that changes during play (e.g. a
+ * collected heart) is redrawn into the framebuffer on its own, so a heavily decorated room costs
+ * the same as an empty one.
+ */
+public final class FramebufferRoomRenderer implements RoomRenderer {
+  static final int CELLS_PER_ROOM = Stage.NUM_ROWS * Stage.NUM_COLUMNS;
+
+  private final GLManager manager;
+  private final int fbo;
+  private final int colorTexture;
+  private final int width;
+  private final int height;
+  private final Matrix4f offscreenProjection;
+
+  private final int[] viewport = new int[4];
+  private int bakedRoom = -1;
+
+  /* Cells (row * NUM_COLUMNS + col) of the baked room that hold animated tiles */
+  private final int[] animatedCells = new int[CELLS_PER_ROOM];
+  private int animatedCount = 0;
+
+  /* Cells of the baked room changed since they were last baked, each once, so it cannot overflow */
+  private final int[] dirtyCells = new int[CELLS_PER_ROOM];
+  private final boolean[] isDirty = new boolean[CELLS_PER_ROOM];
+  private int dirtyCount = 0;
+
+  public FramebufferRoomRenderer(Stage stage, GLManager manager) {
+    this.manager = manager;
+    var tileDisplaySize = Stage.getTileSize();
+    width = (int) (Stage.NUM_COLUMNS * tileDisplaySize);
+    height = (int) (Stage.NUM_ROWS * tileDisplaySize);
+    // Same orientation as the on-screen projection, so the blit needs no flip
+    offscreenProjection = new Matrix4f().ortho(0, width, height, 0, -1, 1);
+
+    colorTexture = glGenTextures();
+    GLState.bindTexture(colorTexture);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+    glTexImage2D(
+        GL_TEXTURE_2D, 0, GL_RGBA8, width, height, 0, GL_RGBA, GL_UNSIGNED_BYTE, (IntBuffer) null);
+
+    fbo = glGenFramebuffers();
+    glBindFramebuffer(GL_FRAMEBUFFER, fbo);
+    glFramebufferTexture2D(GL_FRAMEBUFFER, GL_COLOR_ATTACHMENT0, GL_TEXTURE_2D, colorTexture, 0);
+    if (glCheckFramebufferStatus(GL_FRAMEBUFFER) != GL_FRAMEBUFFER_COMPLETE) {
+      throw new RuntimeException("Room framebuffer is incomplete");
+    }
+    glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+    stage.addTileListener(this::tileChanged);
+  }
+
+  @Override
+  public void render(Stage stage, Matrix4f projection) {
+    var room = stage.getRoom();
+    if (room != bakedRoom) {
+      bake(stage, room, projection);
+    } else if (dirtyCount > 0) {
+      redrawDirty(stage, projection);
+    }
+
+    // Copy the cached background to the top of the window
+    glGetIntegerv(GL_VIEWPORT, viewport);
+    int top = viewport[1] + viewport[3];
+    glBindFramebuffer(GL_READ_FRAMEBUFFER, fbo);
+    glBindFramebuffer(GL_DRAW_FRAMEBUFFER, 0);
+    glBlitFramebuffer(
+        0, 0, width, height, 0, top - height, width, top, GL_COLOR_BUFFER_BIT, GL_NEAREST);
+    GLState.countDraw();
+    glBindFramebuffer(GL_FRAMEBUFFER, 0);
+
+    // Animated tiles go on top, in the same batch as the player
+    var roomData = stage.getScreen(room);
+    var tileDisplaySize = Stage.getTileSize();
+    var batch = manager.getBatch();
+    batch.begin("tiles");
+    for (int i = 0; i < animatedCount; i += 1) {
+      int row = animatedCells[i] / Stage.NUM_COLUMNS;
+      int col = animatedCells[i] % Stage.NUM_COLUMNS;
+      var tileType = roomData.get(row, col);
+      batch.draw(
+          stage.getCorners(tileType),
+          col * tileDisplaySize,
+          row * tileDisplaySize,
+          tileDisplaySize,
+          tileDisplaySize,
+          TileAnimations.of(tileType));
+    }
+  }
+
+  @Override
+  public void cleanup() {
+    glDeleteFramebuffers(fbo);
+    GLState.deleteTexture(colorTexture);
+  }
+
+  ///////////// Helpers
+
+  /** Draws every static tile of the room into the framebuffer */
+  private void bake(Stage stage, int room, Matrix4f projection) {
+    var roomData = stage.getScreen(room);
+    var batch = manager.getBatch();
+
+    beginOffscreen();
+    glClear(GL_COLOR_BUFFER_BIT);
+    batch.begin("tiles");
+    animatedCount = 0;
+    for (int row = 0; row < Stage.NUM_ROWS; row += 1) {
+      for (int col = 0; col < Stage.NUM_COLUMNS; col += 1) {
+        var tileType = roomData.get(row, col);
+        if (Stage.isAnimatedTile(tileType)) {
+          animatedCells[animatedCount] = row * Stage.NUM_COLUMNS + col;
+          animatedCount += 1;
+        } else {
+          drawCell(stage, tileType, row, col);
+        }
+      }
+    }
+    endOffscreen(projection);
+
+    bakedRoom = room;
+    clearDirty();
+  }
+
+  /** Clears and redraws just the cells that changed since the room was baked */
+  private void redrawDirty(Stage stage, Matrix4f projection) {
+    var roomData = stage.getScreen(bakedRoom);
+    var tileDisplaySize = Stage.getTileSize();
+    var batch = manager.getBatch();
+
+    beginOffscreen();
+    glEnable(GL_SCISSOR_TEST);
+    batch.begin("tiles");
+    for (int i = 0; i < dirtyCount; i += 1) {
+      int row = dirtyCells[i] / Stage.NUM_COLUMNS;
+      int col = dirtyCells[i] % Stage.NUM_COLUMNS;
+      // Framebuffer rows run bottom-up
+      glScissor(
+          (int) (col * tileDisplaySize),
+          (int) (height - (row + 1) * tileDisplaySize),
+          (int) tileDisplaySize,
+          (int) tileDisplaySize);
+      glClear(GL_COLOR_BUFFER_BIT);
+      var tileType = roomData.get(row, col);
+      if (!Stage.isAnimatedTile(tileType)) {
+        drawCell(stage, tileType, row, col);
+      }
+      // Each cell has its own scissor rectangle, so it has to be drawn before the next one
+      batch.flush();
+    }
+    glDisable(GL_SCISSOR_TEST);
+    endOffscreen(projection);
+
+    clearDirty();
+  }
+
+  private void drawCell(Stage stage, int tileType, int row, int col) {
+    var tileDisplaySize = Stage.getTileSize();
+    manager
+        .getBatch()
+        .draw(
+            stage.getCorners(tileType),
+            col * tileDisplaySize,
+            row * tileDisplaySize,
+            tileDisplaySize,
+            tileDisplaySize);
+  }
+
+  private void beginOffscreen() {
+    // Anything already queued belongs on screen, not in the framebuffer
+    manager.getBatch().flush();
+    glGetIntegerv(GL_VIEWPORT, viewport);
+    glBindFramebuffer(GL_FRAMEBUFFER, fbo);
+    glViewport(0, 0, width, height);
+    GLState.useProgram(manager.getShaderProgram());
+    GLState.uniformMatrix(manager.getProjectionLocation(), offscreenProjection);
+  }
+
+  private void endOffscreen(Matrix4f projection) {
+    manager.getBatch().flush();
+    glBindFramebuffer(GL_FRAMEBUFFER, 0);
+    GLState.uniformMatrix(manager.getProjectionLocation(), projection);
+    // Restore the window viewport set up by StageRenderer
+    glViewport(viewport[0], viewport[1], viewport[2], viewport[3]);
+  }
+
+  private void tileChanged(int room, int row, int col, int tileType) {
+    if (room != bakedRoom) {
+      return;
+    }
+    int cell = row * Stage.NUM_COLUMNS + col;
+    removeAnimatedCell(cell);
+    if (Stage.isAnimatedTile(tileType)) {
+      animatedCells[animatedCount] = cell;
+      animatedCount += 1;
+    }
+    // Whatever was baked under the cell is stale now
+    if (isDirty[cell]) {
+      return;
+    }
+    isDirty[cell] = true;
+    dirtyCells[dirtyCount] = cell;
+    dirtyCount += 1;
+  }
+
+  private void clearDirty() {
+    for (int i = 0; i < dirtyCount; i += 1) {
+      isDirty[dirtyCells[i]] = false;
+    }
+    dirtyCount = 0;
+  }
+
+  private boolean isAnimatedCell(int cell) {
+    for (int i = 0; i < animatedCount; i += 1) {
+      if (animatedCells[i] == cell) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void removeAnimatedCell(int cell) {
+    if (!isAnimatedCell(cell)) {
+      return;
+    }
+    for (int i = 0; i < animatedCount; i += 1) {
+      if (animatedCells[i] == cell) {
+        animatedCount -= 1;
+        animatedCells[i] = animatedCells[animatedCount];
+        return;
+      }
+    }
+  }
+}
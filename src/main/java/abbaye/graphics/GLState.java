@@ -0,0 +1,280 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static org.lwjgl.opengl.GL13.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.glDrawElementsBaseVertex;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+
+import abbaye.basic.Matrix4f;
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shadows the GL binding state so that binds which would not change anything are never issued, and
+ * caches uniform locations per program. It also counts the GL work done each frame, which is what
+ * we budget against on weak integrated GPUs. All binds in this package should go through here,
+ * otherwise the shadow state will be wrong.
+ */
+public final class GLState {
+  static final int TEXTURE_UNITS = 4;
+
+  private static final FloatBuffer MATRIX_BUFFER = memAllocFloat(16);
+  private static final Map<Integer, Map<String, Integer>> uniformLocations = new HashMap<>();
+
+  private static int program = 0;
+  private static int vertexArray = 0;
+  private static int arrayBuffer = 0;
+  private static int activeUnit = 0;
+  private static final int[] textures = new int[TEXTURE_UNITS];
+
+  // Counters for the frame in progress
+  private static int binds = 0;
+  private static int skippedBinds = 0;
+  private static int uniformUploads = 0;
+  private static int bufferUploads = 0;
+  private static int drawCalls = 0;
+
+  private static FrameStats lastFrame = new FrameStats(0, 0, 0, 0, 0);
+
+  /**
+   * The GL work done during one frame.
+   *
+   * @param binds state changes actually sent to GL
+   * @param skippedBinds state changes dropped because the state was already set
+   * @param uniformUploads uniform values uploaded
+   * @param bufferUploads vertex or texture data uploads
+   * @param drawCalls draws and framebuffer blits
+   */
+  public record FrameStats(
+      int binds, int skippedBinds, int uniformUploads, int bufferUploads, int drawCalls) {}
+
+  private GLState() {}
+
+  ///////////// Binds
+
+  public static void useProgram(int id) {
+    if (program == id) {
+      skippedBinds += 1;
+      return;
+    }
+    glUseProgram(id);
+    program = id;
+    binds += 1;
+  }
+
+  public static void bindVertexArray(int id) {
+    if (vertexArray == id) {
+      skippedBinds += 1;
+      return;
+    }
+    glBindVertexArray(id);
+    vertexArray = id;
+    binds += 1;
+  }
+
+  /**
+   * Binds a buffer to GL_ARRAY_BUFFER. The element buffer binding belongs to the vertex array, so
+   * it is not tracked here.
+   *
+   * @param id
+   */
+  public static void bindArrayBuffer(int id) {
+    if (arrayBuffer == id) {
+      skippedBinds += 1;
+      return;
+    }
+    glBindBuffer(GL_ARRAY_BUFFER, id);
+    arrayBuffer = id;
+    binds += 1;
+  }
+
+  /**
+   * Selects the texture unit used by subsequent {@link #bindTexture(int)} calls.
+   *
+   * @param unit the unit index, i.e. 0 for GL_TEXTURE0
+   */
+  public static void activeTexture(int unit) {
+    if (activeUnit == unit) {
+      skippedBinds += 1;
+      return;
+    }
+    glActiveTexture(GL_TEXTURE0 + unit);
+    activeUnit = unit;
+    binds += 1;
+  }
+
+  /**
+   * Binds a 2D texture to the active texture unit.
+   *
+   * @param id
+   */
+  public static void bindTexture(int id) {
+    if (textures[activeUnit] == id) {
+      skippedBinds += 1;
+      return;
+    }
+    glBindTexture(GL_TEXTURE_2D, id);
+    textures[activeUnit] = id;
+    binds += 1;
+  }
+
+  ///////////// Uniforms
+
+  /**
+   * Looks up a uniform location, asking GL only the first time a name is seen for a program.
+   *
+   * @param program
+   * @param name
+   * @return the location, or -1 if the program has no such active uniform
+   */
+  public static int uniformLocation(int program, String name) {
+    var locations = uniformLocations.computeIfAbsent(program, p -> new HashMap<>());
+    var location = locations.get(name);
+    if (location == null) {
+      location = glGetUniformLocation(program, name);
+      locations.put(name, location);
+    }
+    return location;
+  }
+
+  /**
+   * Uploads a matrix to a uniform of the current program through a reusable off-heap buffer.
+   *
+   * @param location
+   * @param matrix
+   */
+  public static void uniformMatrix(int location, Matrix4f matrix) {
+    glUniformMatrix4fv(location, false, matrix.get(MATRIX_BUFFER));
+    uniformUploads += 1;
+  }
+
+  public static void uniform1i(int location, int value) {
+    glUniform1i(location, value);
+    uniformUploads += 1;
+  }
+
+  public static void uniform1f(int location, float value) {
+    glUniform1f(location, value);
+    uniformUploads += 1;
+  }
+
+  /** Uploads an array of vec3 uniforms, from the buffer's position to its limit */
+  public static void uniform3fv(int location, FloatBuffer values) {
+    glUniform3fv(location, values);
+    uniformUploads += 1;
+  }
+
+  ///////////// Data and draws
+
+  /** Replaces the start of the bound array buffer */
+  public static void bufferSubData(FloatBuffer data) {
+    glBufferSubData(GL_ARRAY_BUFFER, 0, data);
+    bufferUploads += 1;
+  }
+
+  /** (Re)creates the storage of the bound array buffer */
+  public static void bufferData(FloatBuffer data, int usage) {
+    glBufferData(GL_ARRAY_BUFFER, data, usage);
+    bufferUploads += 1;
+  }
+
+  /** Counts an upload made directly, e.g. a texture update */
+  static void countUpload() {
+    bufferUploads += 1;
+  }
+
+  /** Draws indexed triangles from the bound vertex array */
+  public static void drawElements(int count) {
+    glDrawElements(GL_TRIANGLES, count, GL_UNSIGNED_INT, 0);
+    drawCalls += 1;
+  }
+
+  /**
+   * Draws indexed triangles from the bound vertex array, with every index offset by baseVertex.
+   * This lets many draws share one index buffer while reading different parts of a vertex buffer.
+   */
+  public static void drawElements(int count, int baseVertex) {
+    glDrawElementsBaseVertex(GL_TRIANGLES, count, GL_UNSIGNED_INT, 0, baseVertex);
+    drawCalls += 1;
+  }
+
+  /** Counts a draw made directly, e.g. a framebuffer blit */
+  static void countDraw() {
+    drawCalls += 1;
+  }
+
+  ///////////// Deletes - GL unbinds deleted objects, so the shadow state must follow
+
+  public static void deleteProgram(int id) {
+    glDeleteProgram(id);
+    uniformLocations.remove(id);
+    if (program == id) {
+      program = 0;
+    }
+  }
+
+  public static void deleteVertexArray(int id) {
+    glDeleteVertexArrays(id);
+    if (vertexArray == id) {
+      vertexArray = 0;
+    }
+  }
+
+  public static void deleteBuffer(int id) {
+    glDeleteBuffers(id);
+    if (arrayBuffer == id) {
+      arrayBuffer = 0;
+    }
+  }
+
+  public static void deleteTexture(int id) {
+    glDeleteTextures(id);
+    for (int unit = 0; unit < TEXTURE_UNITS; unit += 1) {
+      if (textures[unit] == id) {
+        textures[unit] = 0;
+      }
+    }
+  }
+
+  ///////////// Frames
+
+  /**
+   * Closes the current frame's counters and starts a new set.
+   *
+   * @return the stats for the frame just finished
+   */
+  public static FrameStats endFrame() {
+    lastFrame = new FrameStats(binds, skippedBinds, uniformUploads, bufferUploads, drawCalls);
+    binds = 0;
+    skippedBinds = 0;
+    uniformUploads = 0;
+    bufferUploads = 0;
+    drawCalls = 0;
+    return lastFrame;
+  }
+
+  /**
+   * @return the stats for the last completed frame
+   */
+  public static FrameStats getLastFrame() {
+    return lastFrame;
+  }
+
+  /**
+   * Forgets all shadowed bindings, e.g. after a new GL context has been created. The next bind of
+   * every kind will always be sent to GL.
+   */
+  public static void reset() {
+    program = 0;
+    vertexArray = 0;
+    arrayBuffer = 0;
+    activeUnit = 0;
+    for (int unit = 0; unit < TEXTURE_UNITS; unit += 1) {
+      textures[unit] = 0;
+    }
+    uniformLocations.clear();
+  }
+}
@@ -0,0 +1,139 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static abbaye.graphics.SpriteBatch.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import abbaye.basic.Matrix4f;
+import abbaye.model.Stage;
+import abbaye.model.TileAnimations;
+import java.nio.FloatBuffer;
+
+/**
+ * Holds one static vertex buffer per room. A room's mesh is built the first time the room is shown
+ * and is only rebuilt when the stage reports that one of its tiles has changed, so drawing a room
+ * is a single bind and draw call.
+ */
+public final class RoomMeshCache implements RoomRenderer {
+  static final int QUADS_PER_ROOM = Stage.NUM_ROWS * Stage.NUM_COLUMNS;
+
+  private final GLManager manager;
+  private final RoomMesh[] meshes = new RoomMesh[Stage.NUM_SCREENS];
+
+  /** Scratch buffer used while building a mesh - one room's worth of quads. Null once freed. */
+  private FloatBuffer scratch = memAllocFloat(QUADS_PER_ROOM * FLOATS_PER_QUAD);
+
+  private static final class RoomMesh {
+    private final int VAO, VBO, EBO;
+    private int version;
+
+    private RoomMesh(int vao, int vbo, int ebo, int version) {
+      this.VAO = vao;
+      this.VBO = vbo;
+      this.EBO = ebo;
+      this.version = version;
+    }
+  }
+
+  public RoomMeshCache(GLManager manager) {
+    this.manager = manager;
+  }
+
+  /**
+   * Draws the current room of the stage, building or refreshing its mesh first if needed. The
+   * projection of the game shader has already been set by the caller.
+   */
+  @Override
+  public void render(Stage stage, Matrix4f projection) {
+    var room = stage.getRoom();
+    var mesh = meshes[room];
+    var version = stage.getRoomVersion(room);
+    if (mesh == null) {
+      mesh = build(stage, room);
+      meshes[room] = mesh;
+    } else if (mesh.version != version) {
+      fillScratch(stage, room);
+      GLState.bindArrayBuffer(mesh.VBO);
+      GLState.bufferSubData(scratch);
+      mesh.version = version;
+    }
+
+    manager.bindTexture("tiles");
+    GLState.uniformMatrix(manager.getModelLocation(), IDENTITY);
+    GLState.bindVertexArray(mesh.VAO);
+    GLState.drawElements(QUADS_PER_ROOM * INDICES_PER_QUAD);
+  }
+
+  /**
+   * Drops the cached mesh for a room so it will be rebuilt from scratch when next shown.
+   *
+   * @param room
+   */
+  public void evict(int room) {
+    var mesh = meshes[room];
+    if (mesh != null) {
+      delete(mesh);
+      meshes[room] = null;
+    }
+  }
+
+  /** Frees the meshes and the scratch buffer. Safe to call more than once. */
+  @Override
+  public void cleanup() {
+    if (scratch == null) {
+      return;
+    }
+    for (int room = 0; room < meshes.length; room += 1) {
+      evict(room);
+    }
+    memFree(scratch);
+    scratch = null;
+  }
+
+  ///////////// Helpers
+
+  private RoomMesh build(Stage stage, int room) {
+    fillScratch(stage, room);
+
+    int vao = glGenVertexArrays();
+    int vbo = glGenBuffers();
+    GLState.bindVertexArray(vao);
+    GLState.bindArrayBuffer(vbo);
+    GLState.bufferData(scratch, GL_STATIC_DRAW);
+    int ebo = createQuadIndexBuffer(QUADS_PER_ROOM);
+    setVertexLayout();
+    GLState.bindVertexArray(0);
+
+    return new RoomMesh(vao, vbo, ebo, stage.getRoomVersion(room));
+  }
+
+  private void fillScratch(Stage stage, int room) {
+    var tileDisplaySize = Stage.getTileSize();
+    var roomData = stage.getScreen(room);
+
+    scratch.clear();
+    for (int tileY = 0; tileY < Stage.NUM_ROWS; tileY += 1) {
+      for (int tileX = 0; tileX < Stage.NUM_COLUMNS; tileX += 1) {
+        var tileType = roomData.get(tileY, tileX);
+        putQuad(
+            scratch,
+            stage.getCorners(tileType),
+            tileX * tileDisplaySize,
+            tileY * tileDisplaySize,
+            tileDisplaySize,
+            tileDisplaySize,
+            TileAnimations.of(tileType));
+      }
+    }
+    scratch.flip();
+  }
+
+  private static void delete(RoomMesh mesh) {
+    GLState.deleteVertexArray(mesh.VAO);
+    GLState.deleteBuffer(mesh.VBO);
+    GLState.deleteBuffer(mesh.EBO);
+  }
+}
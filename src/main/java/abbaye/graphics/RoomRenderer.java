@@ -0,0 +1,20 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import abbaye.basic.Matrix4f;
+import abbaye.model.Stage;
+
+/** Strategy for drawing the tiles of the current room. Selected by the "stagerenderer" key. */
+public sealed interface RoomRenderer
+    permits FramebufferRoomRenderer, RoomMeshCache, TilemapRenderer {
+
+  /**
+   * Draws the current room of the stage
+   *
+   * @param stage
+   * @param projection - the orthographic projection for display pixels
+   */
+  void render(Stage stage, Matrix4f projection);
+
+  default void cleanup() {}
+}
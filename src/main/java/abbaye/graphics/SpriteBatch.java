@@ -0,0 +1,196 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memAllocInt;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import abbaye.basic.Corners;
+import abbaye.basic.Matrix4f;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Collects textured quads into one preallocated off-heap vertex buffer and draws them with a single
+ * call per texture. Quads are submitted in display pixels, so the model matrix is the identity and
+ * only the projection is needed to place them on screen. Each flush is streamed into fresh space in
+ * a {@link StreamingVertexBuffer}, so it never waits for the GPU to finish the previous one.
+ */
+public final class SpriteBatch {
+  public static final int MAX_QUADS = 2048;
+
+  static final int FLOATS_PER_VERTEX = 5; // x, y, u, v, animation
+  static final int VERTICES_PER_QUAD = 4;
+  static final int INDICES_PER_QUAD = 6;
+  static final int FLOATS_PER_QUAD = FLOATS_PER_VERTEX * VERTICES_PER_QUAD;
+
+  static final Matrix4f IDENTITY = new Matrix4f();
+
+  private final GLManager manager;
+  private final FloatBuffer vertices;
+  private final StreamingVertexBuffer stream;
+  private final int VAO, EBO;
+
+  private String texture;
+  private Matrix4f transform = IDENTITY;
+  private int quads = 0;
+
+  SpriteBatch(GLManager manager) {
+    this.manager = manager;
+    this.vertices = memAllocFloat(MAX_QUADS * FLOATS_PER_QUAD);
+
+    VAO = glGenVertexArrays();
+
+    GLState.bindVertexArray(VAO);
+    stream = new StreamingVertexBuffer(vertices.capacity() * Float.BYTES);
+    EBO = createQuadIndexBuffer(MAX_QUADS);
+    setVertexLayout();
+
+    GLState.bindVertexArray(0);
+  }
+
+  /**
+   * Selects the texture for subsequent quads. Changing texture flushes anything already queued.
+   *
+   * @param name the name of a texture known to the owning manager
+   */
+  public void begin(String name) {
+    if (!name.equals(texture)) {
+      flush();
+      texture = name;
+    }
+  }
+
+  /**
+   * Sets the model matrix for subsequent quads. Changing it flushes anything already queued. The
+   * game batches leave this as the identity; the splash dialog, whose shader has no projection,
+   * uses it to place the page.
+   *
+   * @param model the model matrix, which must not be changed while quads using it are queued
+   */
+  public void setTransform(Matrix4f model) {
+    if (model != transform) {
+      flush();
+      transform = model;
+    }
+  }
+
+  /**
+   * Queues a quad. A negative height flips the quad vertically, as the status display does.
+   *
+   * @param tileCoords - the texture coords in float (0 < u, v < 1) coords
+   * @param x - the x coordinate in display pixels
+   * @param y - the y coordinate in display pixels
+   * @param width - the width in display pixels
+   * @param height - the height in display pixels
+   */
+  public void draw(Corners tileCoords, float x, float y, float width, float height) {
+    draw(tileCoords, x, y, width, height, 0);
+  }
+
+  /**
+   * Queues a quad whose texture steps through a tile animation.
+   *
+   * @param animation - an index from {@link abbaye.model.TileAnimations}, or 0 for none
+   */
+  public void draw(Corners tileCoords, float x, float y, float width, float height, int animation) {
+    if (quads == MAX_QUADS) {
+      flush();
+    }
+    putQuad(vertices, tileCoords, x, y, width, height, animation);
+    quads += 1;
+  }
+
+  /** Draws everything queued so far with the current texture. */
+  public void flush() {
+    if (quads == 0) {
+      return;
+    }
+    vertices.flip();
+
+    manager.bindTexture(texture);
+    GLState.uniformMatrix(manager.getModelLocation(), transform);
+
+    GLState.bindVertexArray(VAO);
+    int offset = stream.upload(vertices);
+    GLState.drawElements(quads * INDICES_PER_QUAD, offset / (FLOATS_PER_VERTEX * Float.BYTES));
+
+    vertices.clear();
+    quads = 0;
+  }
+
+  public void cleanup() {
+    GLState.deleteVertexArray(VAO);
+    stream.cleanup();
+    GLState.deleteBuffer(EBO);
+    memFree(vertices);
+  }
+
+  ///////////// Helpers
+
+  /**
+   * Writes the four vertices of a quad, wound to match the index pattern from {@link
+   * #putQuadIndices(IntBuffer, int)}. The first texture row (v1) is at y, the last at y + height.
+   */
+  static void putQuad(
+      FloatBuffer buffer,
+      Corners tileCoords,
+      float x,
+      float y,
+      float width,
+      float height,
+      int animation) {
+    var u1 = tileCoords.u1();
+    var v1 = tileCoords.v1();
+    var u2 = tileCoords.u2();
+    var v2 = tileCoords.v2();
+    float a = animation;
+
+    buffer.put(x + width).put(y).put(u2).put(v1).put(a); // bottom right
+    buffer.put(x + width).put(y + height).put(u2).put(v2).put(a); // top right
+    buffer.put(x).put(y + height).put(u1).put(v2).put(a); // top left
+    buffer.put(x).put(y).put(u1).put(v1).put(a); // bottom left
+  }
+
+  /**
+   * Creates and binds an element buffer for the given number of quads. The index pattern never
+   * changes, so it is written once for the whole buffer. A vertex array must be bound.
+   *
+   * @return the buffer id
+   */
+  static int createQuadIndexBuffer(int quads) {
+    IntBuffer indices = memAllocInt(quads * INDICES_PER_QUAD);
+    for (int q = 0; q < quads; q += 1) {
+      putQuadIndices(indices, q * VERTICES_PER_QUAD);
+    }
+    indices.flip();
+
+    int ebo = glGenBuffers();
+    glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, ebo);
+    glBufferData(GL_ELEMENT_ARRAY_BUFFER, indices, GL_STATIC_DRAW);
+    memFree(indices);
+    return ebo;
+  }
+
+  /** Describes the batch vertex format to the bound vertex array and array buffer. */
+  static void setVertexLayout() {
+    // Position attribute - z is left at its default of zero
+    glVertexAttribPointer(0, 2, GL_FLOAT, false, FLOATS_PER_VERTEX * Float.BYTES, 0);
+    glEnableVertexAttribArray(0);
+
+    // Texture coordinate attribute
+    glVertexAttribPointer(1, 2, GL_FLOAT, false, FLOATS_PER_VERTEX * Float.BYTES, 2 * Float.BYTES);
+    glEnableVertexAttribArray(1);
+
+    // Tile animation index
+    glVertexAttribPointer(2, 1, GL_FLOAT, false, FLOATS_PER_VERTEX * Float.BYTES, 4 * Float.BYTES);
+    glEnableVertexAttribArray(2);
+  }
+
+  static void putQuadIndices(IntBuffer buffer, int base) {
+    buffer.put(base).put(base + 1).put(base + 3); // first triangle
+    buffer.put(base + 1).put(base + 2).put(base + 3); // second triangle
+  }
+}
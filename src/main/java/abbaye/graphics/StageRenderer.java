@@ -1,12 +1,17 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.graphics;
 
 import static org.lwjgl.glfw.GLFW.glfwGetFramebufferSize;
 import static org.lwjgl.opengl.GL20.*;
 import static org.lwjgl.system.MemoryStack.stackPush;
 
+import abbaye.Config;
+import abbaye.basic.Clock;
+import abbaye.basic.Matrix4f;
 import abbaye.basic.Renderable;
 import abbaye.model.Stage;
+import abbaye.model.TileAnimations;
+import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import org.lwjgl.system.MemoryStack;
 
@@ -15,6 +20,8 @@ public class StageRenderer implements Renderable {
 
   private Stage tilemap;
   private GLManager manager;
+  private RoomRenderer rooms;
+  private final Matrix4f projection = new Matrix4f();
 
   public StageRenderer(long window) {
     this.window = window;
@@ -23,6 +30,13 @@ public class StageRenderer implements Renderable {
 
   public void init(Stage stage) {
     tilemap = stage;
+    uploadAnimations(manager.getShaderProgram());
+    rooms =
+        switch (Config.config().getString("stagerenderer", "mesh")) {
+          case "tilemap" -> new TilemapRenderer(stage);
+          case "framebuffer" -> new FramebufferRoomRenderer(stage, manager);
+          default -> new RoomMeshCache(manager);
+        };
   }
 
   public boolean render() {
@@ -34,30 +48,51 @@ public class StageRenderer implements Renderable {
       glViewport(0, 0, width.get(0), height.get(0));
 
       // Set up orthographic projection
-      float[] projection =
-          GLManager.createOrthographicMatrix(0, width.get(0), height.get(0), 0, -1, 1);
-      glUniformMatrix4fv(manager.getProjectionLocation(), false, projection);
+      var program = manager.getShaderProgram();
+      GLState.useProgram(program);
+      projection.ortho(0, width.get(0), height.get(0), 0, -1, 1);
+      GLState.uniformMatrix(manager.getProjectionLocation(), projection);
+      GLState.uniform1f(GLState.uniformLocation(program, "time"), animationTime());
     }
 
-    manager.bindTexture("tiles");
+    // Either one prebuilt mesh or one shader-resolved quad for the whole room
+    rooms.render(tilemap, projection);
 
-    var tileDisplaySize = Stage.getTileSize();
+    return true;
+  }
 
-    // Render each tile of this room
-    for (int tileY = 0; tileY < Stage.NUM_ROWS; tileY += 1) {
-      for (int tileX = 0; tileX < Stage.NUM_COLUMNS; tileX += 1) {
-        var tileCoords = tilemap.getCorners(tileX, tileY);
+  ///////////// Helpers
 
-        float displayPosX = tileX * tileDisplaySize;
-        float displayPosY = tileY * tileDisplaySize;
+  /**
+   * @return the clock for tile animations, in seconds
+   */
+  static float animationTime() {
+    return (float) (Clock.getFrameTime() / 1000.0);
+  }
 
-        manager.renderTile(tileCoords, tileDisplaySize, displayPosX, displayPosY);
+  /**
+   * Copies the tile animation table into the "animations" uniform of a program using game.vert.
+   *
+   * @param program
+   */
+  static void uploadAnimations(int program) {
+    try (MemoryStack stack = stackPush()) {
+      FloatBuffer table = stack.mallocFloat(TileAnimations.MAX_ANIMATIONS * 3);
+      for (int i = 0; i < TileAnimations.MAX_ANIMATIONS; i += 1) {
+        // Unused entries must still have a non-zero period
+        var strip = TileAnimations.get(i < TileAnimations.count() ? i : 0);
+        table.put(strip.frames()).put(strip.strideU()).put(strip.periodSeconds());
       }
+      table.flip();
+      GLState.useProgram(program);
+      GLState.uniform3fv(GLState.uniformLocation(program, "animations"), table);
     }
-
-    return true;
   }
 
-  /////////////// Matrix helpers
-
+  @Override
+  public void cleanup() {
+    if (rooms != null) {
+      rooms.cleanup();
+    }
+  }
 }
@@ -0,0 +1,123 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static org.lwjgl.opengl.GL15.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.opengl.GL32.*;
+import static org.lwjgl.system.MemoryUtil.NULL;
+import static org.lwjgl.system.MemoryUtil.memAddress;
+import static org.lwjgl.system.MemoryUtil.memCopy;
+
+import java.nio.FloatBuffer;
+
+/**
+ * A ring of vertex storage for geometry that is rebuilt every frame. Each upload is written into
+ * fresh space through an unsynchronized mapping, so the driver never has to stall until the GPU has
+ * finished with the previous contents, as it does for glBufferSubData into a buffer still in use.
+ *
+ * <p>The ring is split into segments, and an upload always lies within one. When an upload does not
+ * fit in what is left of a segment, a fence is put into the command stream behind the draws that
+ * read it, writing moves to the start of the next segment, and a segment is only written again once
+ * its fence has signalled.
+ */
+public final class StreamingVertexBuffer {
+  static final int SEGMENTS = 3;
+
+  private static final int MAP_FLAGS =
+      GL_MAP_WRITE_BIT | GL_MAP_UNSYNCHRONIZED_BIT | GL_MAP_INVALIDATE_RANGE_BIT;
+  private static final long FENCE_TIMEOUT_NANOS = 1_000_000L;
+
+  private final int id;
+  private final int segmentBytes;
+  private final int capacityBytes;
+  private final long[] fences = new long[SEGMENTS];
+
+  private int head = 0;
+  private int segment = 0;
+
+  /**
+   * @param segmentBytes the size of each segment, which is also the largest single upload
+   */
+  public StreamingVertexBuffer(int segmentBytes) {
+    this.segmentBytes = segmentBytes;
+    this.capacityBytes = segmentBytes * SEGMENTS;
+
+    id = glGenBuffers();
+    GLState.bindArrayBuffer(id);
+    glBufferData(GL_ARRAY_BUFFER, capacityBytes, GL_STREAM_DRAW);
+  }
+
+  /**
+   * Copies vertex data into the ring. The buffer must be bound as the array buffer of the vertex
+   * array that will draw it.
+   *
+   * @param data the vertices, from position to limit
+   * @return the byte offset in the ring at which the data was written
+   */
+  public int upload(FloatBuffer data) {
+    int bytes = data.remaining() * Float.BYTES;
+    if (bytes > segmentBytes) {
+      throw new IllegalArgumentException(
+          "Upload of " + bytes + " bytes exceeds segment size " + segmentBytes);
+    }
+
+    // Never split an upload across segments, so no draw after a segment's fence can read from it
+    if (head + bytes > (segment + 1) * segmentBytes) {
+      leaveSegment();
+      segment = (segment + 1) % SEGMENTS;
+      head = segment * segmentBytes;
+      enterSegment();
+    }
+
+    GLState.bindArrayBuffer(id);
+    long target = nglMapBufferRange(GL_ARRAY_BUFFER, head, bytes, MAP_FLAGS);
+    if (target == NULL) {
+      throw new RuntimeException("Unable to map streaming vertex buffer");
+    }
+    memCopy(memAddress(data), target, bytes);
+    glUnmapBuffer(GL_ARRAY_BUFFER);
+    GLState.countUpload();
+
+    int offset = head;
+    head += bytes;
+    return offset;
+  }
+
+  public int getId() {
+    return id;
+  }
+
+  public void cleanup() {
+    for (int i = 0; i < SEGMENTS; i += 1) {
+      if (fences[i] != NULL) {
+        glDeleteSync(fences[i]);
+        fences[i] = NULL;
+      }
+    }
+    GLState.deleteBuffer(id);
+  }
+
+  ///////////// Helpers
+
+  /** Marks the current segment as in use by everything drawn so far */
+  private void leaveSegment() {
+    if (fences[segment] != NULL) {
+      glDeleteSync(fences[segment]);
+    }
+    fences[segment] = glFenceSync(GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+  }
+
+  /** Waits, if need be, for the GPU to finish reading the current segment from the last lap */
+  private void enterSegment() {
+    long fence = fences[segment];
+    if (fence == NULL) {
+      return;
+    }
+    int result;
+    do {
+      result = glClientWaitSync(fence, GL_SYNC_FLUSH_COMMANDS_BIT, FENCE_TIMEOUT_NANOS);
+    } while (result == GL_TIMEOUT_EXPIRED);
+    glDeleteSync(fence);
+    fences[segment] = NULL;
+  }
+}
@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.graphics;
 
 import static org.lwjgl.opengl.GL11.*;
@@ -25,7 +25,7 @@ public final class Texture {
 
   /** Binds the texture. */
   public void bind() {
-    glBindTexture(GL_TEXTURE_2D, id);
+    GLState.bindTexture(id);
   }
 
   /**
@@ -65,7 +65,7 @@ public final class Texture {
 
   /** Delete the texture. */
   public void delete() {
-    glDeleteTextures(id);
+    GLState.deleteTexture(id);
   }
 
   /**
@@ -0,0 +1,168 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.graphics;
+
+import static abbaye.model.Stage.TILE_TYPES;
+import static org.lwjgl.opengl.GL11.*;
+import static org.lwjgl.opengl.GL12.GL_CLAMP_TO_EDGE;
+import static org.lwjgl.opengl.GL13.*;
+import static org.lwjgl.opengl.GL20.*;
+import static org.lwjgl.opengl.GL30.*;
+import static org.lwjgl.system.MemoryUtil.memAllocFloat;
+import static org.lwjgl.system.MemoryUtil.memAllocShort;
+import static org.lwjgl.system.MemoryUtil.memFree;
+
+import abbaye.basic.Corners;
+import abbaye.basic.Matrix4f;
+import abbaye.model.Stage;
+import abbaye.model.TileAnimations;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Draws a room as a single quad. The tile types of the current room live in a small integer
+ * texture, and the atlas rectangle of every tile type in a lookup texture, so the fragment shader
+ * resolves each pixel's tile on the GPU and there is no per-tile CPU work at all.
+ */
+public final class TilemapRenderer implements RoomRenderer {
+  /* Texture coords of the quad are room coords, in tiles */
+  private static final Corners WHOLE_ROOM = new Corners(0, 0, Stage.NUM_COLUMNS, Stage.NUM_ROWS);
+
+  private final GLManager manager;
+  private final int tileIdTexture;
+  private final int cornersTexture;
+  // Native memory, so both are null once freed
+  private ShortBuffer roomTiles = memAllocShort(Stage.NUM_ROWS * Stage.NUM_COLUMNS);
+  private ShortBuffer singleTile = memAllocShort(1);
+
+  private int uploadedRoom = -1;
+
+  public TilemapRenderer(Stage stage) {
+    manager = GLManager.get("tilemap");
+
+    // Integer textures must not be filtered
+    tileIdTexture = glGenTextures();
+    GLState.bindTexture(tileIdTexture);
+    setNearest();
+    glTexImage2D(
+        GL_TEXTURE_2D,
+        0,
+        GL_R16UI,
+        Stage.NUM_COLUMNS,
+        Stage.NUM_ROWS,
+        0,
+        GL_RED_INTEGER,
+        GL_UNSIGNED_SHORT,
+        (ShortBuffer) null);
+
+    // The rules in Stage.getCorners(int) become one texel per tile type, with the tile's
+    // animation strip (if any) in the row below
+    FloatBuffer corners = memAllocFloat(TILE_TYPES * 4 * 2);
+    for (int tileType = 0; tileType < TILE_TYPES; tileType += 1) {
+      var c = stage.getCorners(tileType);
+      corners.put(c.u1()).put(c.v1()).put(c.u2()).put(c.v2());
+    }
+    for (int tileType = 0; tileType < TILE_TYPES; tileType += 1) {
+      var strip = TileAnimations.get(TileAnimations.of(tileType));
+      corners.put(strip.frames()).put(strip.strideU()).put(strip.periodSeconds()).put(0);
+    }
+    corners.flip();
+    cornersTexture = glGenTextures();
+    GLState.bindTexture(cornersTexture);
+    setNearest();
+    glTexImage2D(GL_TEXTURE_2D, 0, GL_RGBA32F, TILE_TYPES, 2, 0, GL_RGBA, GL_FLOAT, corners);
+    memFree(corners);
+
+    var program = manager.getShaderProgram();
+    GLState.useProgram(program);
+    GLState.uniform1i(GLState.uniformLocation(program, "ourTexture"), 0);
+    GLState.uniform1i(GLState.uniformLocation(program, "tileIds"), 1);
+    GLState.uniform1i(GLState.uniformLocation(program, "tileCorners"), 2);
+    StageRenderer.uploadAnimations(program);
+
+    stage.addTileListener(this::tileChanged);
+  }
+
+  @Override
+  public void render(Stage stage, Matrix4f projection) {
+    var room = stage.getRoom();
+    if (room != uploadedRoom) {
+      upload(stage, room);
+    }
+
+    var program = manager.getShaderProgram();
+    GLState.useProgram(program);
+    GLState.uniformMatrix(manager.getProjectionLocation(), projection);
+    GLState.uniform1f(GLState.uniformLocation(program, "time"), StageRenderer.animationTime());
+
+    GLState.activeTexture(1);
+    GLState.bindTexture(tileIdTexture);
+    GLState.activeTexture(2);
+    GLState.bindTexture(cornersTexture);
+    GLState.activeTexture(0);
+
+    var tileDisplaySize = Stage.getTileSize();
+    var batch = manager.getBatch();
+    batch.begin("tiles");
+    batch.draw(
+        WHOLE_ROOM, 0, 0, Stage.NUM_COLUMNS * tileDisplaySize, Stage.NUM_ROWS * tileDisplaySize);
+    batch.flush();
+  }
+
+  /** Frees the textures and buffers. Safe to call more than once. */
+  @Override
+  public void cleanup() {
+    if (roomTiles == null) {
+      return;
+    }
+    GLState.deleteTexture(tileIdTexture);
+    GLState.deleteTexture(cornersTexture);
+    memFree(roomTiles);
+    memFree(singleTile);
+    roomTiles = null;
+    singleTile = null;
+  }
+
+  ///////////// Helpers
+
+  private void upload(Stage stage, int room) {
+    var roomData = stage.getScreen(room);
+    roomTiles.clear();
+    for (int row = 0; row < Stage.NUM_ROWS; row += 1) {
+      roomData.getRow(row, roomTiles);
+    }
+    roomTiles.flip();
+
+    GLState.bindTexture(tileIdTexture);
+    glTexSubImage2D(
+        GL_TEXTURE_2D,
+        0,
+        0,
+        0,
+        Stage.NUM_COLUMNS,
+        Stage.NUM_ROWS,
+        GL_RED_INTEGER,
+        GL_UNSIGNED_SHORT,
+        roomTiles);
+    GLState.countUpload();
+    uploadedRoom = room;
+  }
+
+  /** A collected item only needs its own texel updating */
+  private void tileChanged(int room, int row, int col, int tileType) {
+    if (room != uploadedRoom) {
+      return;
+    }
+    singleTile.put(0, (short) tileType);
+    GLState.bindTexture(tileIdTexture);
+    glTexSubImage2D(
+        GL_TEXTURE_2D, 0, col, row, 1, 1, GL_RED_INTEGER, GL_UNSIGNED_SHORT, singleTile);
+    GLState.countUpload();
+  }
+
+  private static void setNearest() {
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MIN_FILTER, GL_NEAREST);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_MAG_FILTER, GL_NEAREST);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_S, GL_CLAMP_TO_EDGE);
+    glTexParameteri(GL_TEXTURE_2D, GL_TEXTURE_WRAP_T, GL_CLAMP_TO_EDGE);
+  }
+}
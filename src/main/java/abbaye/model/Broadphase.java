@@ -0,0 +1,288 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.NUM_COLUMNS;
+import static abbaye.model.Stage.NUM_ROWS;
+
+import abbaye.basic.Actor;
+import abbaye.basic.BoundingBox2;
+import abbaye.basic.Vector2;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds which actors in the current room touch each other. Every actor is bucketed into the cells
+ * of the room's tile grid that its box covers, and only actors sharing a cell are tested against
+ * each other, so the cost grows with how crowded each cell is rather than with the square of the
+ * number of actors.
+ *
+ * <p>Buckets are kept between ticks. {@link #update(Actor)} only moves an actor between cells when
+ * the range of cells it covers has changed.
+ */
+public final class Broadphase {
+  private static final int INITIAL_CAPACITY = 16;
+  private static final int INITIAL_CELL_CAPACITY = 4;
+
+  @FunctionalInterface
+  public interface PairConsumer {
+    void accept(Actor first, Actor second);
+  }
+
+  private final List<Actor> actors = new ArrayList<>();
+  private final Map<Actor, Integer> ids = new IdentityHashMap<>();
+  private final List<Integer> freeIds = new ArrayList<>();
+
+  // Per actor id - box edges in pixels, and the range of cells covered (inclusive)
+  private float[] left = new float[INITIAL_CAPACITY];
+  private float[] top = new float[INITIAL_CAPACITY];
+  private float[] right = new float[INITIAL_CAPACITY];
+  private float[] bottom = new float[INITIAL_CAPACITY];
+  private int[] minCol = new int[INITIAL_CAPACITY];
+  private int[] minRow = new int[INITIAL_CAPACITY];
+  private int[] maxCol = new int[INITIAL_CAPACITY];
+  private int[] maxRow = new int[INITIAL_CAPACITY];
+
+  // Per cell - the ids of the actors in it
+  private final int[][] cells = new int[NUM_COLUMNS * NUM_ROWS][INITIAL_CELL_CAPACITY];
+  private final int[] cellCounts = new int[NUM_COLUMNS * NUM_ROWS];
+
+  private int pairTests = 0;
+
+  /**
+   * Starts tracking an actor. Adding one that is already tracked just updates it.
+   *
+   * @param actor
+   */
+  public void add(Actor actor) {
+    if (ids.containsKey(actor)) {
+      update(actor);
+      return;
+    }
+    int id;
+    if (freeIds.isEmpty()) {
+      id = actors.size();
+      actors.add(actor);
+      ensureCapacity(id + 1);
+    } else {
+      id = freeIds.remove(freeIds.size() - 1);
+      actors.set(id, actor);
+    }
+    ids.put(actor, id);
+    computeBounds(id, actor);
+    insert(id);
+  }
+
+  public void remove(Actor actor) {
+    var id = ids.remove(actor);
+    if (id == null) {
+      return;
+    }
+    withdraw(id);
+    actors.set(id, null);
+    freeIds.add(id);
+  }
+
+  /** Forgets every actor, e.g. on leaving a room */
+  public void clear() {
+    actors.clear();
+    ids.clear();
+    freeIds.clear();
+    Arrays.fill(cellCounts, 0);
+  }
+
+  /**
+   * Re-buckets an actor after it has moved. Cheap when it is still in the same cells.
+   *
+   * @param actor
+   */
+  public void update(Actor actor) {
+    var id = ids.get(actor);
+    if (id == null) {
+      return;
+    }
+    int oldMinCol = minCol[id], oldMinRow = minRow[id];
+    int oldMaxCol = maxCol[id], oldMaxRow = maxRow[id];
+    computeBounds(id, actor);
+    if (oldMinCol == minCol[id]
+        && oldMinRow == minRow[id]
+        && oldMaxCol == maxCol[id]
+        && oldMaxRow == maxRow[id]) {
+      return;
+    }
+    withdrawRange(id, oldMinCol, oldMinRow, oldMaxCol, oldMaxRow);
+    insert(id);
+  }
+
+  /**
+   * Calls back once for every pair of tracked actors whose boxes overlap.
+   *
+   * @param consumer
+   */
+  public void forEachOverlap(PairConsumer consumer) {
+    pairTests = 0;
+    for (int cell = 0; cell < cells.length; cell += 1) {
+      var members = cells[cell];
+      int count = cellCounts[cell];
+      int col = cell % NUM_COLUMNS;
+      int row = cell / NUM_COLUMNS;
+      for (int i = 0; i < count; i += 1) {
+        for (int j = i + 1; j < count; j += 1) {
+          int a = members[i];
+          int b = members[j];
+          // A pair can share several cells - only test it in the first one they share
+          if (col != Math.max(minCol[a], minCol[b]) || row != Math.max(minRow[a], minRow[b])) {
+            continue;
+          }
+          if (overlaps(a, b)) {
+            consumer.accept(actors.get(a), actors.get(b));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @param actor a tracked actor
+   * @return true if any other tracked actor overlaps it
+   */
+  public boolean overlapsAny(Actor actor) {
+    var id = ids.get(actor);
+    if (id == null) {
+      return false;
+    }
+    pairTests = 0;
+    for (int row = minRow[id]; row <= maxRow[id]; row += 1) {
+      for (int col = minCol[id]; col <= maxCol[id]; col += 1) {
+        int cell = row * NUM_COLUMNS + col;
+        var members = cells[cell];
+        for (int i = 0; i < cellCounts[cell]; i += 1) {
+          if (members[i] != id && overlaps(id, members[i])) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the number of box tests made by the last query
+   */
+  public int getPairTests() {
+    return pairTests;
+  }
+
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * @param actor
+   * @return the actor's box in pixels. Actor positions are their top-left corners and sizes are in
+   *     the original game's 8 pixel tiles.
+   */
+  public static BoundingBox2 boundsOf(Actor actor) {
+    var scale = Stage.getTileSize() / Player.PIXELS_PER_TILE;
+    var pos = actor.getPos();
+    var size = actor.getSize();
+    float w = size.x() * scale;
+    float h = size.y() * scale;
+    return new BoundingBox2(new Vector2(pos.x() + w / 2, pos.y() + h / 2), new Vector2(w, h));
+  }
+
+  ///////////// Helpers
+
+  private boolean overlaps(int a, int b) {
+    pairTests += 1;
+    return BoundingBox2.overlaps(
+        left[a], top[a], right[a], bottom[a], left[b], top[b], right[b], bottom[b]);
+  }
+
+  private void computeBounds(int id, Actor actor) {
+    if (actor instanceof Enemy enemy) {
+      // Every enemy of the room is updated every tick, and its getPos() and getSize() allocate
+      left[id] = enemy.boxLeft();
+      top[id] = enemy.boxTop();
+      right[id] = left[id] + enemy.boxWidth();
+      bottom[id] = top[id] + enemy.boxHeight();
+    } else if (actor instanceof Player player) {
+      // Likewise the player, every tick
+      var scale = Stage.getTileSize() / Player.PIXELS_PER_TILE;
+      var size = player.getSize();
+      left[id] = player.x();
+      top[id] = player.y();
+      right[id] = left[id] + size.x() * scale;
+      bottom[id] = top[id] + size.y() * scale;
+    } else {
+      var scale = Stage.getTileSize() / Player.PIXELS_PER_TILE;
+      var pos = actor.getPos();
+      var size = actor.getSize();
+      left[id] = pos.x();
+      top[id] = pos.y();
+      right[id] = pos.x() + size.x() * scale;
+      bottom[id] = pos.y() + size.y() * scale;
+    }
+
+    var tileSize = Stage.getTileSize();
+    minCol[id] = clamp((int) Math.floor(left[id] / tileSize), NUM_COLUMNS);
+    minRow[id] = clamp((int) Math.floor(top[id] / tileSize), NUM_ROWS);
+    maxCol[id] = clamp((int) Math.floor(right[id] / tileSize), NUM_COLUMNS);
+    maxRow[id] = clamp((int) Math.floor(bottom[id] / tileSize), NUM_ROWS);
+  }
+
+  private static int clamp(int value, int limit) {
+    return Math.max(0, Math.min(value, limit - 1));
+  }
+
+  private void insert(int id) {
+    for (int row = minRow[id]; row <= maxRow[id]; row += 1) {
+      for (int col = minCol[id]; col <= maxCol[id]; col += 1) {
+        int cell = row * NUM_COLUMNS + col;
+        if (cellCounts[cell] == cells[cell].length) {
+          cells[cell] = Arrays.copyOf(cells[cell], cells[cell].length * 2);
+        }
+        cells[cell][cellCounts[cell]] = id;
+        cellCounts[cell] += 1;
+      }
+    }
+  }
+
+  private void withdraw(int id) {
+    withdrawRange(id, minCol[id], minRow[id], maxCol[id], maxRow[id]);
+  }
+
+  private void withdrawRange(int id, int fromCol, int fromRow, int toCol, int toRow) {
+    for (int row = fromRow; row <= toRow; row += 1) {
+      for (int col = fromCol; col <= toCol; col += 1) {
+        int cell = row * NUM_COLUMNS + col;
+        var members = cells[cell];
+        for (int i = 0; i < cellCounts[cell]; i += 1) {
+          if (members[i] == id) {
+            // Order within a cell does not matter, so swap in the last member
+            cellCounts[cell] -= 1;
+            members[i] = members[cellCounts[cell]];
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= left.length) {
+      return;
+    }
+    int newLength = Math.max(capacity, left.length * 2);
+    left = Arrays.copyOf(left, newLength);
+    top = Arrays.copyOf(top, newLength);
+    right = Arrays.copyOf(right, newLength);
+    bottom = Arrays.copyOf(bottom, newLength);
+    minCol = Arrays.copyOf(minCol, newLength);
+    minRow = Arrays.copyOf(minRow, newLength);
+    maxCol = Arrays.copyOf(maxCol, newLength);
+    maxRow = Arrays.copyOf(maxRow, newLength);
+  }
+}
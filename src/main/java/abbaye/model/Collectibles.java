@@ -0,0 +1,192 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static abbaye.model.TileProperties.*;
+
+import abbaye.model.Stage.Screen;
+import java.util.Arrays;
+
+/**
+ * Where the hearts, crosses and waypoint crosses are. Each pickup is drawn as a small block of
+ * tiles, and the index groups those tiles by flood fill when the map is loaded. A pickup then
+ * clears just the cells of the group that was touched, rather than scanning the whole room.
+ *
+ * <p>Groups are numbered across the whole map. Their cells are held in one packed array, as {@code
+ * row * NUM_COLUMNS + col}, with each group owning the run from its start to the next group's
+ * start.
+ */
+public final class Collectibles {
+  /* The kinds of pickup, one group never mixes them */
+  private static final short KINDS = (short) (HEART | CROSS | WAYPOINT);
+  private static final int CELLS_PER_ROOM = NUM_ROWS * NUM_COLUMNS;
+  private static final int NO_GROUP = -1;
+
+  /* Per cell of every room - the group it belongs to, or NO_GROUP */
+  private final int[] groupOfCell;
+
+  // Per group
+  private final int groupCount;
+  private final int[] room;
+  private final short[] kind;
+  /* Cells of group g are cells[cellStart[g]] up to cells[cellStart[g + 1]] */
+  private final int[] cellStart;
+  private final int[] cells;
+
+  private Collectibles(
+      int[] groupOfCell, int groupCount, int[] room, short[] kind, int[] cellStart, int[] cells) {
+    this.groupOfCell = groupOfCell;
+    this.groupCount = groupCount;
+    this.room = room;
+    this.kind = kind;
+    this.cellStart = cellStart;
+    this.cells = cells;
+  }
+
+  /**
+   * @param stage with every room's tiles loaded
+   * @return the index of every pickup in the map
+   */
+  static Collectibles build(Stage stage) {
+    var groupOfCell = new int[NUM_SCREENS * CELLS_PER_ROOM];
+    Arrays.fill(groupOfCell, NO_GROUP);
+    var rooms = new int[16];
+    var kinds = new short[16];
+    var starts = new int[17];
+    var cells = new int[64];
+    var stack = new int[CELLS_PER_ROOM];
+    int groups = 0;
+    int cellCount = 0;
+
+    for (int r = 0; r < NUM_SCREENS; r += 1) {
+      var screen = stage.getScreen(r);
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        for (int col = 0; col < NUM_COLUMNS; col += 1) {
+          short k = (short) (TileProperties.flags(screen.get(row, col)) & KINDS);
+          if (k == 0 || groupOfCell[r * CELLS_PER_ROOM + row * NUM_COLUMNS + col] != NO_GROUP) {
+            continue;
+          }
+          if (groups == rooms.length) {
+            rooms = Arrays.copyOf(rooms, groups * 2);
+            kinds = Arrays.copyOf(kinds, groups * 2);
+            starts = Arrays.copyOf(starts, groups * 2 + 1);
+          }
+          rooms[groups] = r;
+          kinds[groups] = k;
+          starts[groups] = cellCount;
+
+          // Flood fill the 4-connected tiles of the same kind
+          int top = 0;
+          stack[top++] = row * NUM_COLUMNS + col;
+          groupOfCell[r * CELLS_PER_ROOM + row * NUM_COLUMNS + col] = groups;
+          while (top > 0) {
+            int cell = stack[--top];
+            if (cellCount == cells.length) {
+              cells = Arrays.copyOf(cells, cellCount * 2);
+            }
+            cells[cellCount++] = cell;
+            int cr = cell / NUM_COLUMNS;
+            int cc = cell % NUM_COLUMNS;
+            top = push(screen, groupOfCell, r, cr - 1, cc, k, groups, stack, top);
+            top = push(screen, groupOfCell, r, cr + 1, cc, k, groups, stack, top);
+            top = push(screen, groupOfCell, r, cr, cc - 1, k, groups, stack, top);
+            top = push(screen, groupOfCell, r, cr, cc + 1, k, groups, stack, top);
+          }
+          groups += 1;
+        }
+      }
+    }
+    starts[groups] = cellCount;
+
+    return new Collectibles(
+        groupOfCell,
+        groups,
+        Arrays.copyOf(rooms, groups),
+        Arrays.copyOf(kinds, groups),
+        Arrays.copyOf(starts, groups + 1),
+        Arrays.copyOf(cells, cellCount));
+  }
+
+  /**
+   * @param room
+   * @param row
+   * @param col
+   * @return the group covering the cell, or -1 if there is none or the cell is off the room
+   */
+  public int groupAt(int room, int row, int col) {
+    if (row < 0 || row >= NUM_ROWS || col < 0 || col >= NUM_COLUMNS) {
+      return NO_GROUP;
+    }
+    return groupOfCell[room * CELLS_PER_ROOM + row * NUM_COLUMNS + col];
+  }
+
+  /**
+   * @param group
+   * @return HEART, CROSS or WAYPOINT
+   */
+  public short kind(int group) {
+    return kind[group];
+  }
+
+  public int room(int group) {
+    return room[group];
+  }
+
+  /**
+   * @param group
+   * @return how many tiles the group covers
+   */
+  public int size(int group) {
+    return cellStart[group + 1] - cellStart[group];
+  }
+
+  /**
+   * @param group
+   * @param i 0 <= i < size(group)
+   * @return the row of the group's i-th tile
+   */
+  public int row(int group, int i) {
+    return cells[cellStart[group] + i] / NUM_COLUMNS;
+  }
+
+  public int col(int group, int i) {
+    return cells[cellStart[group] + i] % NUM_COLUMNS;
+  }
+
+  /**
+   * @return the number of groups in the whole map
+   */
+  public int count() {
+    return groupCount;
+  }
+
+  ///////////// Helpers
+
+  private static int push(
+      Screen screen,
+      int[] groupOfCell,
+      int room,
+      int row,
+      int col,
+      short kind,
+      int group,
+      int[] stack,
+      int top) {
+    if (row < 0 || row >= NUM_ROWS || col < 0 || col >= NUM_COLUMNS) {
+      return top;
+    }
+    int index = room * CELLS_PER_ROOM + row * NUM_COLUMNS + col;
+    if (groupOfCell[index] != NO_GROUP
+        || (TileProperties.flags(screen.get(row, col)) & kind) == 0) {
+      return top;
+    }
+    groupOfCell[index] = group;
+    stack[top] = row * NUM_COLUMNS + col;
+    return top + 1;
+  }
+
+  @Override
+  public String toString() {
+    return "Collectibles{" + "groups=" + groupCount + ", cells=" + cells.length + '}';
+  }
+}
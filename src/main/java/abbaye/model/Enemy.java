@@ -1,6 +1,7 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.model;
 
+import static abbaye.model.Facing.LEFT;
 import static abbaye.model.Facing.RIGHT;
 
 import abbaye.basic.Actor;
@@ -10,42 +11,110 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
 
+/**
+ * One enemy, as a view onto its slot in the {@link EnemyManager}. The state lives in the manager's
+ * arrays, so a view holds nothing but the slot number.
+ */
 public final class Enemy implements Actor {
+  private final EnemyManager enemies;
+  private final int slot;
 
-  // Physicality
-  private Vector2 pos = new Vector2(0, 0);
-  private Vector2 v = new Vector2(0, 0);
-  private Facing direction = RIGHT;
+  Enemy(EnemyManager enemies, int slot) {
+    this.enemies = enemies;
+    this.slot = slot;
+  }
 
   public static class EnemySerializer extends JsonSerializer<Enemy> {
     @Override
     public void serialize(
         Enemy enemy, JsonGenerator generator, SerializerProvider serializerProvider)
-        throws IOException {}
+        throws IOException {
+      var enemies = enemy.enemies;
+      int slot = enemy.slot;
+      generator.writeStartObject();
+      generator.writeNumberField("type", enemies.type[slot]);
+      generator.writeNumberField("x", enemies.x[slot]);
+      generator.writeNumberField("y", enemies.y[slot]);
+      generator.writeNumberField("vx", enemies.vx[slot]);
+      generator.writeNumberField("vy", enemies.vy[slot]);
+      generator.writeEndObject();
+    }
   }
 
+  /**
+   * @return the top-left of the hit box
+   */
   @Override
   public Vector2 getPos() {
-    return pos;
+    return new Vector2(
+        enemies.x[slot] + enemies.boxLeft[slot], enemies.y[slot] + enemies.boxTop[slot]);
+  }
+
+  /**
+   * Moves the enemy so its hit box starts at the given point.
+   *
+   * @param pos
+   */
+  public void setPos(Vector2 pos) {
+    enemies.x[slot] = pos.x() - enemies.boxLeft[slot];
+    enemies.y[slot] = pos.y() - enemies.boxTop[slot];
   }
 
   @Override
   public Vector2 getV() {
-    return v;
+    return new Vector2(enemies.vx[slot], enemies.vy[slot]);
   }
 
   @Override
   public Facing getDirection() {
-    return direction;
+    return enemies.vx[slot] < 0 ? LEFT : RIGHT;
   }
 
+  /**
+   * @return the hit box size, in the original game's 8 pixel tiles like the player's
+   */
   @Override
   public Vector2 getSize() {
-    return null;
+    var scale = Stage.getTileSize() / Player.PIXELS_PER_TILE;
+    return new Vector2(enemies.boxWidth[slot] / scale, enemies.boxHeight[slot] / scale);
+  }
+
+  // The hit box in screen pixels, read straight from the manager, for code that must not allocate
+
+  float boxLeft() {
+    return enemies.x[slot] + enemies.boxLeft[slot];
+  }
+
+  float boxTop() {
+    return enemies.y[slot] + enemies.boxTop[slot];
+  }
+
+  float boxWidth() {
+    return enemies.boxWidth[slot];
+  }
+
+  float boxHeight() {
+    return enemies.boxHeight[slot];
+  }
+
+  /**
+   * @return true if touching this enemy can hurt the player
+   */
+  public boolean isHarmful() {
+    return enemies.boxWidth[slot] > 0 && enemies.boxHeight[slot] > 0;
+  }
+
+  public int getType() {
+    return enemies.type[slot];
   }
 
   @Override
   public boolean render() {
     return false;
   }
+
+  @Override
+  public String toString() {
+    return "Enemy{" + "slot=" + slot + ", type=" + getType() + ", pos=" + getPos() + '}';
+  }
 }
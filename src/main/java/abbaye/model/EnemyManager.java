@@ -0,0 +1,311 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.NUM_SCREENS;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Every enemy in the map, held as parallel primitive arrays rather than as objects. Each room owns
+ * a fixed run of slots, so updating the active room is one pass over a few contiguous arrays.
+ * {@link Enemy} objects are thin views onto a slot, created once at load, for code that wants an
+ * {@link abbaye.basic.Actor}.
+ *
+ * <p>Coordinates are stored in screen pixels. The map file, like the original game, uses 8 pixel
+ * tiles.
+ */
+public final class EnemyManager {
+  /** The map file has a fixed number of enemy rows per room */
+  public static final int FILE_SLOTS_PER_ROOM = 7;
+
+  private static final int FILE_COLUMNS = 15;
+
+  /* Original pixels per tick for each unit of speed in the map file */
+  static final float SPEED_SCALE = 0.1f;
+
+  // Movement directions, as numbered in the map file
+  static final int DIRECTION_LEFT = 0;
+  static final int DIRECTION_RIGHT = 1;
+  static final int DIRECTION_UP = 2;
+  static final int DIRECTION_DOWN = 3;
+
+  private final int slotsPerRoom;
+  private final int[] counts = new int[NUM_SCREENS];
+
+  // Per slot - the slot for enemy i of room r is r * slotsPerRoom + i
+  final int[] type;
+  final float[] x;
+  final float[] y;
+  final float[] vx;
+  final float[] vy;
+  /* Patrol range along the axis of movement */
+  final float[] min;
+  final float[] max;
+  /* Hit box, relative to (x, y) */
+  final float[] boxLeft;
+  final float[] boxTop;
+  final float[] boxWidth;
+  final float[] boxHeight;
+  /* Top-left of the sprite in the atlas, in pixels */
+  final int[] spriteX;
+  final int[] spriteY;
+  /* Position and velocity as loaded, for reset() */
+  private final float[] startX;
+  private final float[] startY;
+  private final float[] startVx;
+  private final float[] startVy;
+
+  private final Enemy[] views;
+
+  EnemyManager(int slotsPerRoom) {
+    this.slotsPerRoom = slotsPerRoom;
+    int slots = NUM_SCREENS * slotsPerRoom;
+    type = new int[slots];
+    x = new float[slots];
+    y = new float[slots];
+    vx = new float[slots];
+    vy = new float[slots];
+    min = new float[slots];
+    max = new float[slots];
+    boxLeft = new float[slots];
+    boxTop = new float[slots];
+    boxWidth = new float[slots];
+    boxHeight = new float[slots];
+    spriteX = new int[slots];
+    spriteY = new int[slots];
+    startX = new float[slots];
+    startY = new float[slots];
+    startVx = new float[slots];
+    startVy = new float[slots];
+    views = new Enemy[slots];
+    for (int slot = 0; slot < slots; slot += 1) {
+      views[slot] = new Enemy(this, slot);
+    }
+  }
+
+  /** Loads enemies from the default location */
+  public static EnemyManager load() {
+    return load("/map/enemies.txt");
+  }
+
+  /**
+   * Loads enemies from the supplied resource. Each room is a header line, then one line per slot of
+   * 15 three-digit numbers: type, x, y, direction, sprite x and y, animation, patrol start and end,
+   * speed, fire, then the left, right, top and bottom of the hit box.
+   *
+   * @param enemiesResource
+   * @return the loaded enemies
+   */
+  public static EnemyManager load(String enemiesResource) {
+    var out = new EnemyManager(FILE_SLOTS_PER_ROOM);
+    var input = EnemyManager.class.getResourceAsStream(enemiesResource);
+    try (BufferedReader br = new BufferedReader(new InputStreamReader(input))) {
+      var row = new int[FILE_COLUMNS];
+      for (int room = 0; room < NUM_SCREENS; room += 1) {
+        br.readLine(); // Skip room header, e.g. "2-0"
+        for (int i = 0; i < FILE_SLOTS_PER_ROOM; i += 1) {
+          var line = br.readLine();
+          for (int k = 0; k < FILE_COLUMNS; k += 1) {
+            row[k] = Integer.parseInt(line.substring(k * 4, k * 4 + 3).trim());
+          }
+          // Type 0 marks an empty slot
+          if (row[0] != 0) {
+            out.add(room, row);
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return out;
+  }
+
+  /**
+   * Moves every enemy of a room on by one tick. Enemies patrol back and forth along one axis,
+   * turning round when they pass either end of their range.
+   *
+   * @param room
+   */
+  public void update(int room) {
+    int from = room * slotsPerRoom;
+    int to = from + counts[room];
+    for (int i = from; i < to; i += 1) {
+      if (vx[i] != 0) {
+        x[i] += vx[i];
+        if ((vx[i] < 0 && x[i] < min[i]) || (vx[i] > 0 && x[i] > max[i])) {
+          vx[i] = -vx[i];
+        }
+      } else if (vy[i] != 0) {
+        y[i] += vy[i];
+        if ((vy[i] < 0 && y[i] < min[i]) || (vy[i] > 0 && y[i] > max[i])) {
+          vy[i] = -vy[i];
+        }
+      }
+    }
+  }
+
+  /** Puts every enemy back where it was loaded, moving the way it started, e.g. for a new game */
+  public void reset() {
+    System.arraycopy(startX, 0, x, 0, x.length);
+    System.arraycopy(startY, 0, y, 0, y.length);
+    System.arraycopy(startVx, 0, vx, 0, vx.length);
+    System.arraycopy(startVy, 0, vy, 0, vy.length);
+  }
+
+  /**
+   * @return the number of enemies in the whole map
+   */
+  int total() {
+    int total = 0;
+    for (int count : counts) {
+      total += count;
+    }
+    return total;
+  }
+
+  /* Bytes writeState writes - where each enemy is and which way it is going */
+  int stateBytes() {
+    return total() * 4 * Float.BYTES;
+  }
+
+  /**
+   * Writes the position and velocity of every enemy, room by room, for a {@link Snapshot}. The rest
+   * never changes after loading. Allocates nothing.
+   *
+   * @param out
+   */
+  void writeState(ByteBuffer out) {
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      int from = room * slotsPerRoom;
+      for (int i = from; i < from + counts[room]; i += 1) {
+        out.putFloat(x[i]);
+        out.putFloat(y[i]);
+        out.putFloat(vx[i]);
+        out.putFloat(vy[i]);
+      }
+    }
+  }
+
+  /**
+   * Checks that readState can read a state, without changing anything.
+   *
+   * @param in is left after the state
+   * @throws IllegalArgumentException if the state is cut short
+   */
+  void checkState(ByteBuffer in) {
+    if (in.remaining() < stateBytes()) {
+      throw new IllegalArgumentException("Enemy state cut short");
+    }
+    in.position(in.position() + stateBytes());
+  }
+
+  void readState(ByteBuffer in) {
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      int from = room * slotsPerRoom;
+      for (int i = from; i < from + counts[room]; i += 1) {
+        x[i] = in.getFloat();
+        y[i] = in.getFloat();
+        vx[i] = in.getFloat();
+        vy[i] = in.getFloat();
+      }
+    }
+  }
+
+  /**
+   * @param room
+   * @return the number of enemies in the room
+   */
+  public int count(int room) {
+    return counts[room];
+  }
+
+  /**
+   * @param room
+   * @param i which enemy of the room, from 0 to count(room) - 1
+   * @return the view of that enemy
+   */
+  public Enemy get(int room, int i) {
+    return views[room * slotsPerRoom + i];
+  }
+
+  /**
+   * Places an enemy that stands still, e.g. for tests.
+   *
+   * @param room
+   * @param posX top-left of the hit box, in screen pixels
+   * @param posY
+   * @param width in 8 pixel tiles, like the player's size
+   * @param height
+   * @return the view of the new enemy
+   */
+  Enemy spawn(int room, float posX, float posY, float width, float height) {
+    int slot = nextSlot(room);
+    var scale = scale();
+    type[slot] = 1;
+    x[slot] = posX;
+    y[slot] = posY;
+    boxWidth[slot] = width * scale;
+    boxHeight[slot] = height * scale;
+    saveStart(slot);
+    return views[slot];
+  }
+
+  ///////////// Helpers
+
+  private void add(int room, int[] row) {
+    int slot = nextSlot(room);
+    var scale = scale();
+    type[slot] = row[0];
+    x[slot] = row[1] * scale;
+    y[slot] = row[2] * scale;
+    spriteX[slot] = row[4];
+    spriteY[slot] = row[5];
+    min[slot] = row[7] * scale;
+    max[slot] = row[8] * scale;
+
+    var speed = row[9] * SPEED_SCALE * scale;
+    switch (row[3]) {
+      case DIRECTION_LEFT -> vx[slot] = -speed;
+      case DIRECTION_RIGHT -> vx[slot] = speed;
+      case DIRECTION_UP -> vy[slot] = -speed;
+      case DIRECTION_DOWN -> vy[slot] = speed;
+      default -> throw new IllegalArgumentException("Unknown enemy direction: " + row[3]);
+    }
+
+    boxLeft[slot] = row[11] * scale;
+    boxWidth[slot] = (row[12] - row[11]) * scale;
+    boxTop[slot] = row[13] * scale;
+    boxHeight[slot] = (row[14] - row[13]) * scale;
+    saveStart(slot);
+  }
+
+  private void saveStart(int slot) {
+    startX[slot] = x[slot];
+    startY[slot] = y[slot];
+    startVx[slot] = vx[slot];
+    startVy[slot] = vy[slot];
+  }
+
+  private int nextSlot(int room) {
+    if (counts[room] == slotsPerRoom) {
+      throw new IllegalStateException("Room " + room + " already has " + slotsPerRoom + " enemies");
+    }
+    int slot = room * slotsPerRoom + counts[room];
+    counts[room] += 1;
+    return slot;
+  }
+
+  /* Screen pixels per original pixel */
+  private static float scale() {
+    return Stage.getTileSize() / Player.PIXELS_PER_TILE;
+  }
+
+  @Override
+  public String toString() {
+    return "EnemyManager{" + "counts=" + Arrays.toString(counts) + '}';
+  }
+}
@@ -1,10 +1,12 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.model;
 
 import abbaye.AbbayeMain;
-import abbaye.Config;
+import abbaye.GameContext;
 import abbaye.basic.Actor;
 import abbaye.basic.Renderable;
+import abbaye.graphics.GLManager;
+import abbaye.graphics.SpriteBatch;
 import abbaye.logs.GameLogger;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,14 +15,35 @@ import org.lwjgl.glfw.GLFWKeyCallbackI;
 
 public class Layer {
   private final List<Renderable> misc = new ArrayList<>();
+  private final Broadphase broadphase = new Broadphase();
 
   private Optional<Player> oPlayer = Optional.empty();
   private Optional<Stage> oStage = Optional.empty();
   private Optional<StatusDisplay> oStatus = Optional.empty();
+  private Optional<EnemyManager> oEnemies = Optional.empty();
+  /* The room whose enemies are in the broadphase */
+  private int enemyRoom = -1;
 
-  private GameLogger logger = Config.config().getLogger();
+  private final GameContext context;
+  private final GameLogger logger;
+  private SpriteBatch batch;
+
+  public Layer() {
+    this(GameContext.global());
+  }
+
+  /**
+   * @param context where this layer, and the player placed on it, take their config and logger from
+   */
+  public Layer(GameContext context) {
+    this.context = context;
+    this.logger = context.getLogger();
+  }
 
   public void init() {
+    if (AbbayeMain.isGlEnabled()) {
+      batch = GLManager.get("game").getBatch();
+    }
     // Init order shouldn't matter (where render order does)
     for (var gObj : getRenderables()) {
       gObj.init();
@@ -47,6 +70,11 @@ public class Layer {
     for (var gObj : misc) {
       gObj.render();
     }
+
+    // Everything above only queued quads, so draw whatever is still pending
+    if (batch != null) {
+      batch.flush();
+    }
   }
 
   public GLFWKeyCallbackI moveCallback() {
@@ -64,7 +92,24 @@ public class Layer {
     oPlayer.ifPresent(Player::update);
     //    oPlayer.ifPresent(p -> System.out.println(p.getPos()));
 
-    // FIXME Update enemies
+    // All enemies of the room move in one pass over the manager's arrays
+    if (oEnemies.isPresent() && oStage.isPresent()) {
+      var enemies = oEnemies.get();
+      int room = oStage.get().getRoom();
+      enemies.update(room);
+      if (room != enemyRoom) {
+        changeEnemyRoom(enemies, room);
+      }
+      for (int i = 0; i < enemies.count(room); i += 1) {
+        broadphase.update(enemies.get(room, i));
+      }
+    }
+
+    // Re-bucket the player too, before any hit tests. Not ifPresent(broadphase::update), as the
+    // bound method reference would allocate every tick
+    if (oPlayer.isPresent()) {
+      broadphase.update(oPlayer.get());
+    }
 
     debugLogState();
 
@@ -77,12 +122,56 @@ public class Layer {
       oPlayer.ifPresent(p -> logger.error("Player threw: " + p, t));
     }
 
-    // FIXME Now enemies
+    // FIXME Now enemies - they have nothing to do on a hit yet
+
+    context.tick();
+  }
+
+  /**
+   * Starts a new game in place: the map's changed tiles, the player and the enemies are put back as
+   * they were loaded. Nothing is reloaded or rebuilt.
+   */
+  public void restart() {
+    oStage.ifPresent(Stage::restart);
+    oPlayer.ifPresent(Player::reset);
+    if (oEnemies.isPresent()) {
+      var enemies = oEnemies.get();
+      enemies.reset();
+      removeRoomEnemies(enemies);
+      enemyRoom = -1;
+    }
+    oPlayer.ifPresent(broadphase::update);
+  }
+
+  /**
+   * @param actor
+   * @return true if the actor is touching an enemy
+   */
+  public boolean isHit(Actor actor) {
+    return broadphase.overlapsAny(actor);
+  }
+
+  /** Swaps the enemies in the broadphase for those of the room the player is now in */
+  private void changeEnemyRoom(EnemyManager enemies, int room) {
+    removeRoomEnemies(enemies);
+    for (int i = 0; i < enemies.count(room); i += 1) {
+      var enemy = enemies.get(room, i);
+      if (enemy.isHarmful()) {
+        broadphase.add(enemy);
+      }
+    }
+    enemyRoom = room;
+  }
 
+  private void removeRoomEnemies(EnemyManager enemies) {
+    if (enemyRoom >= 0) {
+      for (int i = 0; i < enemies.count(enemyRoom); i += 1) {
+        broadphase.remove(enemies.get(enemyRoom, i));
+      }
+    }
   }
 
   private void debugLogState() {
-    var logger = Config.config().getLogger();
     if (logger.getMinLevel().ordinal() == 0) {
       var jsonList =
           getRenderables().stream().filter(o -> o instanceof Actor).map(x -> x.toString()).toList();
@@ -94,8 +183,30 @@ public class Layer {
 
   ///////////////////////////
 
+  public GameContext getContext() {
+    return context;
+  }
+
   public void setPlayer(Player p) {
+    oPlayer.ifPresent(broadphase::remove);
     oPlayer = Optional.of(p);
+    broadphase.add(p);
+  }
+
+  /**
+   * Sets the enemies, which are picked up by the broadphase at the next update. Setting the same
+   * manager again picks up any enemies added to it since.
+   *
+   * @param enemies
+   */
+  public void setEnemies(EnemyManager enemies) {
+    oEnemies.ifPresent(this::removeRoomEnemies);
+    oEnemies = Optional.of(enemies);
+    enemyRoom = -1;
+  }
+
+  Broadphase getBroadphase() {
+    return broadphase;
   }
 
   public void setStage(Stage stage) {
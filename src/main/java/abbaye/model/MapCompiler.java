@@ -0,0 +1,163 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiles the text map into the binary form that {@link Stage} loads at startup. The build runs
+ * this over map.txt, which stays the format for editing maps by hand, e.g.
+ *
+ * <pre>
+ * java -cp target/classes abbaye.model.MapCompiler src/main/resources/map/map.txt map.abmap
+ * </pre>
+ *
+ * <p>Everything is little-endian. A 16 byte header holds a magic number, the format version, the
+ * number of rooms across and down and the rows and columns of a room. Then comes the byte offset of
+ * each room's tiles, so a reader can go straight to any one room, and then the tiles themselves as
+ * one short per cell, room by room and row by row.
+ */
+public final class MapCompiler {
+  public static final String SUFFIX = ".abmap";
+
+  static final byte[] MAGIC = {'A', 'B', 'M', 'P'};
+  static final short VERSION = 1;
+  static final int HEADER_BYTES = 16;
+
+  private MapCompiler() {}
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("Usage: MapCompiler <map.txt> <output" + SUFFIX + ">");
+      System.exit(1);
+    }
+    var stage = new Stage();
+    try (var in = Files.newInputStream(Path.of(args[0]))) {
+      stage.loadText(in);
+    }
+    var out = Path.of(args[1]);
+    if (out.getParent() != null) {
+      Files.createDirectories(out.getParent());
+    }
+    write(stage, out);
+  }
+
+  /**
+   * @param stage
+   * @param out the file to write, replacing any that is there
+   */
+  public static void write(Stage stage, Path out) throws IOException {
+    var buffer = encode(stage);
+    try (var channel =
+        FileChannel.open(
+            out,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * @param stage
+   * @return the compiled map, ready to read
+   */
+  static ByteBuffer encode(Stage stage) {
+    int rooms = NUM_SCREENS;
+    int tablesBytes = HEADER_BYTES + rooms * Integer.BYTES;
+    int roomBytes = NUM_ROWS * NUM_COLUMNS * Short.BYTES;
+    var buffer =
+        ByteBuffer.allocate(tablesBytes + rooms * roomBytes).order(ByteOrder.LITTLE_ENDIAN);
+
+    buffer.put(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putShort((short) SCREENS_X);
+    buffer.putShort((short) SCREENS_Y);
+    buffer.putShort((short) NUM_ROWS);
+    buffer.putShort((short) NUM_COLUMNS);
+    buffer.putShort((short) 0); // Reserved
+    for (int room = 0; room < rooms; room += 1) {
+      buffer.putInt(tablesBytes + room * roomBytes);
+    }
+    for (int room = 0; room < rooms; room += 1) {
+      var screen = stage.getScreen(room);
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        for (int col = 0; col < NUM_COLUMNS; col += 1) {
+          buffer.putShort((short) screen.get(row, col));
+        }
+      }
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Reads a compiled map into a stage's tile storage.
+   *
+   * @param buffer the whole compiled map, e.g. memory-mapped
+   * @param tiles the stage's flat tile storage, whose rooms' insides are filled in
+   * @throws IllegalArgumentException if the buffer is not a compiled map of the right shape
+   */
+  static void decode(ByteBuffer buffer, short[] tiles) {
+    buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    for (var b : MAGIC) {
+      if (buffer.get() != b) {
+        throw new IllegalArgumentException("Not a compiled map");
+      }
+    }
+    var version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported map version: " + version);
+    }
+    if (buffer.getShort() != SCREENS_X
+        || buffer.getShort() != SCREENS_Y
+        || buffer.getShort() != NUM_ROWS
+        || buffer.getShort() != NUM_COLUMNS) {
+      throw new IllegalArgumentException("Compiled map does not match the stage size");
+    }
+
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      int offset = buffer.getInt(HEADER_BYTES + room * Integer.BYTES);
+      var roomTiles =
+          buffer
+              .slice(offset, NUM_ROWS * NUM_COLUMNS * Short.BYTES)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .asShortBuffer();
+      // Rows are contiguous in both, apart from the stage's border
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        roomTiles.get(tiles, Stage.index(room, row, 0), NUM_COLUMNS);
+      }
+    }
+  }
+
+  /**
+   * Maps a compiled map file into memory and reads it.
+   *
+   * @param path
+   * @param tiles the stage's flat tile storage
+   */
+  static void read(Path path, short[] tiles) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), tiles);
+    }
+  }
+
+  /**
+   * Reads a compiled map from a stream, e.g. a resource inside the jar, which cannot be mapped.
+   *
+   * @param input
+   * @param tiles the stage's flat tile storage
+   */
+  static void read(InputStream input, short[] tiles) throws IOException {
+    decode(ByteBuffer.wrap(input.readAllBytes()), tiles);
+  }
+}
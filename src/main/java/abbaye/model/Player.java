@@ -5,18 +5,20 @@ import static abbaye.model.Facing.LEFT;
 import static abbaye.model.Facing.RIGHT;
 import static abbaye.model.Room.*;
 import static abbaye.model.Stage.*;
+import static abbaye.model.TileProperties.*;
 import static abbaye.model.Vertical.*;
 import static org.lwjgl.glfw.GLFW.*;
 
 import abbaye.AbbayeMain;
-import abbaye.Config;
 import abbaye.basic.*;
 import abbaye.graphics.GLManager;
 import abbaye.logs.GameLogger;
+import abbaye.model.Stage.Screen;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.lwjgl.glfw.GLFWKeyCallbackI;
 
@@ -69,24 +71,40 @@ public final class Player implements Actor {
   private static final int PLATFORM_FALL_OFFSET_X = 2;
   private static final int PLATFORM_CHECK_X_OFFSET_RIGHT = 1;
 
+  // The body box used for swept movement, in the same units as the collision offsets
+  private static final int BODY_LEFT_OFFSET = COLLISION_LEFT_EDGE_OFFSET;
+  private static final int BODY_WIDTH = COLLISION_RIGHT_EDGE_OFFSET + 1 - BODY_LEFT_OFFSET;
+  private static final int BODY_HEIGHT = PLAYER_HEIGHT_PIXELS - COLLISION_TOP_EDGE_OFFSET;
+
   // Special values
   private static final int SCREEN_BOTTOM_TELEPORT_TILES = 300;
   private static final int DEBUG_LOG_FREQUENCY = 10;
+  private static final int SNAP_DISTANCE_TILES = 2;
+  private static final Vector2 SIZE = new Vector2(16, 24);
+  private static final Waypoint START = new Waypoint(0, 1, 192.0f, 1088.0f);
+  private static final int START_LIVES = 5;
 
   // GL fields
   private GLManager manager;
 
   private Layer layer;
   private Stage stage;
-  private GameLogger logger = Config.config().getLogger();
+  private final GameLogger logger;
 
   // FIXME
   private int counter = 0;
 
   // Physical attributes - in pixels
-  /* Top-left corner of player  */
-  private Vector2 pos = new Vector2(0, 0);
+  /* Top-left corner of player. Kept as primitives so that a tick allocates nothing */
+  private float x;
+  private float y;
   private Vector2 v = new Vector2(0, 0);
+  /* Position and room at the start of the current tick, for render interpolation */
+  private float prevX;
+  private float prevY;
+  private int prevRoom = -1;
+  /* Read once - the config lookup builds its key strings on every call */
+  private final float gravity;
   private boolean crouch = false;
 
   // From C code
@@ -98,14 +116,22 @@ public final class Player implements Actor {
 
   /* Collisions in directions UDLR - D is unused and handled by gravity effects */
   private int[] collision = {0, 0, 0, 0};
-  private Waypoint last = new Waypoint(0, 1, 192.0f, 1088.0f);
+  private Waypoint last = START;
 
   private int crosses = 0; // (previously state[1])
-  private int lives = 5;
+  private int lives = START_LIVES;
   // What does this do?
   private int[] flags = new int[7];
   private boolean walk = false;
 
+  // Scratch buffers for the collision probes, reused every tick
+  private final int[][] tileGrid = new int[4][3];
+  private final int[] xpoints = new int[4];
+  private final int[] ypoints = new int[4];
+  private final int[] blground = new int[4];
+  private final int[] blroof = new int[2];
+  private final int[] contact = new int[SweptCollision.CONTACT_SIZE];
+
   @Override
   public void init() {
     if (AbbayeMain.isGlEnabled()) {
@@ -113,118 +139,54 @@ public final class Player implements Actor {
     }
   }
 
+  /** Touching an enemy costs a life, just like a static hazard */
   @Override
   public void destroy() {
-    logger.info("Collision detected, should destroy");
-  }
-
-  /**
-   * Locates tile to be rendered. Takes care of horizontal flipping as required
-   *
-   * @param tileX - x-coord (in tiles) of player tile to be rendered
-   * @param tileY - y-coord (in tiles) of player tile to be rendered
-   * @return
-   */
-  Corners playerCorners(int tileX, int tileY) {
-    float u1 = (float) tileX / TILES_PER_ROW;
-    float v1 = (float) tileY / TILES_PER_COL;
-    float u2 = (float) (tileX + 1) / TILES_PER_ROW;
-    float v2 = (float) (tileY + 1) / TILES_PER_COL;
-
-    if (getDirection() == RIGHT) {
-      return new Corners(u2, 1 - v1, u1, 1 - v2);
-    }
-
-    return new Corners(u1, 1 - v1, u2, 1 - v2);
+    logger.info("Enemy hit");
+    loseLife();
   }
 
   @Override
   public boolean render() {
-    if (!Config.config().getGLActive()) {
+    if (!layer.getContext().getConfig().getGLActive()) {
       return false;
     }
 
     var tileDisplaySize = Stage.getTileSize();
-    float posX, posY;
-    Corners tileCoords;
-
-    if (direction == LEFT) {
-      posX = pos.x();
-      posY = pos.y();
-      tileCoords = playerCorners(44, 11);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y();
-      tileCoords = playerCorners(45, 11);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x();
-      posY = pos.y() + tileDisplaySize;
-      tileCoords = playerCorners(44, 12);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y() + tileDisplaySize;
-      tileCoords = playerCorners(45, 12);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x();
-      posY = pos.y() + tileDisplaySize + tileDisplaySize;
-      tileCoords = playerCorners(44, 13);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y() + tileDisplaySize + tileDisplaySize;
-      tileCoords = playerCorners(45, 13);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-    } else {
-      // RIGHT
-      posX = pos.x();
-      posY = pos.y();
-      tileCoords = playerCorners(45, 11);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y();
-      tileCoords = playerCorners(44, 11);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x();
-      posY = pos.y() + tileDisplaySize;
-      tileCoords = playerCorners(45, 12);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y() + tileDisplaySize;
-      tileCoords = playerCorners(44, 12);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x();
-      posY = pos.y() + tileDisplaySize + tileDisplaySize;
-      tileCoords = playerCorners(45, 13);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-
-      posX = pos.x() + tileDisplaySize;
-      posY = pos.y() + tileDisplaySize + tileDisplaySize;
-      tileCoords = playerCorners(44, 13);
-      manager.renderTile(tileCoords, tileDisplaySize, posX, posY);
-    }
+    // Draw where the player is between the last two ticks
+    float alpha = Clock.getInterpolationAlpha();
+    float renderX = interpolate(prevX, x, alpha);
+    float renderY = interpolate(prevY, y, alpha);
+
+    var batch = manager.getBatch();
+    batch.begin("tiles");
+    batch.draw(
+        PlayerSprites.frame(direction, jump, crouch, animation),
+        renderX,
+        renderY,
+        PlayerSprites.WIDTH_TILES * tileDisplaySize,
+        PlayerSprites.HEIGHT_TILES * tileDisplaySize);
 
     return false;
   }
 
+  /**
+   * Advances the player by one tick.
+   *
+   * @return the new position
+   */
+  @Override
   public Vector2 newPosition() {
+    move();
+    return getPos();
+  }
+
+  /** The body of the tick - moves the player in place, without allocating */
+  private void move() {
     if (checkStaticHazard()) {
       logger.info("Static hazard hit");
-      if (lives <= 0) {
-        lives = 5;
-        logger.info("Resetting lives, need to exit game here instead");
-      } else {
-        lives -= 1;
-      }
-      stage.toWaypoint(last);
-      return last.getPos();
+      loseLife();
+      return;
     }
     checkCollisions();
     if (checkStaticObject()) {
@@ -286,49 +248,57 @@ public final class Player implements Actor {
       }
     }
 
-    return new Vector2(pos.x() + getMoveSpeed() * dx, pos.y() + getMoveSpeed() * dy);
+    sweepBy(getMoveSpeed() * dx, getMoveSpeed() * dy);
+  }
+
+  /**
+   * Moves the player's body by (mx, my), stopping against the first tile in the way, however long
+   * the step. The probes in checkCollisions() only look at where the player is now, so on their own
+   * they cannot stop a long step passing through a thin wall or platform.
+   */
+  private void sweepBy(float mx, float my) {
+    var room = stage.getScreen(stage.getRoom());
+    float time =
+        SweptCollision.sweep(
+            room,
+            x + BODY_LEFT_OFFSET * PIXELS_PER_TILE,
+            y + COLLISION_TOP_EDGE_OFFSET * PIXELS_PER_TILE,
+            BODY_WIDTH * PIXELS_PER_TILE,
+            BODY_HEIGHT * PIXELS_PER_TILE,
+            mx,
+            my,
+            contact);
+    x += mx * time;
+    y += my * time;
   }
 
   @Override
   public boolean update() {
     final var tileSize = Stage.getTileSize();
+    prevX = x;
+    prevY = y;
+    prevRoom = stage.getRoom();
 
     // First check if we need to change room
-    if (pos.x() < LEFT_EDGE) {
-      if (stage.moveLeft()) {
-        pos = new Vector2(tileSize * (NUM_COLUMNS - 2), pos.y());
-      } else {
-        pos = new Vector2(LEFT_EDGE, pos.y());
-      }
+    if (x < LEFT_EDGE) {
+      x = stage.moveLeft() ? tileSize * (NUM_COLUMNS - 2) : LEFT_EDGE;
       return true;
     }
-    if (pos.x() > tileSize * (NUM_COLUMNS - 2)) {
-      if (stage.moveRight()) {
-        pos = new Vector2(0, pos.y());
-      } else {
-        pos = new Vector2(tileSize * (NUM_COLUMNS - 2), pos.y());
-      }
+    if (x > tileSize * (NUM_COLUMNS - 2)) {
+      x = stage.moveRight() ? 0 : tileSize * (NUM_COLUMNS - 2);
       return true;
     }
-    if (pos.y() < TOP_EDGE) {
-      if (stage.moveUp()) {
-        pos = new Vector2(pos.x(), tileSize * (NUM_ROWS - 3));
-      } else {
-        pos = new Vector2(pos.x(), TOP_EDGE);
-      }
+    if (y < TOP_EDGE) {
+      y = stage.moveUp() ? tileSize * (NUM_ROWS - 3) : TOP_EDGE;
       return true;
     }
-    if (pos.y() > tileSize * (NUM_ROWS - 3)) {
-      if (stage.moveDown()) {
-        pos = new Vector2(pos.x(), TOP_EDGE);
-      } else {
-        pos = new Vector2(pos.x(), tileSize * (NUM_ROWS - 3));
-      }
+    if (y > tileSize * (NUM_ROWS - 3)) {
+      y = stage.moveDown() ? TOP_EDGE : tileSize * (NUM_ROWS - 3);
       return true;
     }
 
     // Now update position
-    pos = newPosition();
+    move();
     return true;
   }
 
@@ -400,50 +370,72 @@ public final class Player implements Actor {
     };
   }
 
+  /**
+   * @return true if the player is touching an enemy
+   */
   public boolean checkHit() {
-    return false;
+    return layer.isHit(this);
+  }
+
+  /** Takes a life and sends the player back to the last waypoint */
+  void loseLife() {
+    if (lives <= 0) {
+      lives = START_LIVES;
+      logger.info("Resetting lives, need to exit game here instead");
+    } else {
+      lives -= 1;
+    }
+    stage.toWaypoint(last);
+    x = last.x();
+    y = last.y();
   }
 
+  /** Puts the player back as at the start of a new game, without making a new one */
+  public void reset() {
+    last = START;
+    x = START.x();
+    y = START.y();
+    prevX = x;
+    prevY = y;
+    prevRoom = -1;
+    v = new Vector2(0, 0);
+    lives = START_LIVES;
+    crosses = 0;
+    crouch = false;
+    walk = false;
+    direction = RIGHT;
+    jump = NEUTRAL;
+    height = 0;
+    animation = 0;
+    ground = 0;
+    counter = 0;
+    Arrays.fill(collision, 0);
+    Arrays.fill(flags, 0);
+  }
+
+  /**
+   * @return the tiles under the player's 4x3 probe points, in a buffer that is overwritten by the
+   *     next call
+   */
   int[][] getTileGrid() {
-    int[][] out = new int[4][3];
     float resize = Stage.getTileSize();
 
-    var leftX = (int) (pos.x() / resize);
-    var midX = 1 + (int) (pos.x() / resize);
-    var rightX = 1 + (int) ((pos.x() + resize - 0.1) / resize);
+    var leftX = (int) (x / resize);
+    var midX = 1 + (int) (x / resize);
+    var rightX = 1 + (int) ((x + resize - 0.1) / resize);
 
-    var topY = (int) (pos.y() / resize);
-    var upperMidY = 1 + (int) (pos.y() / resize);
-    var lowerMidY = 2 + (int) (pos.y() / resize);
-    var bottomY = 2 + (int) ((pos.y() + resize - 0.1) / resize);
+    var topY = (int) (y / resize);
+    var bottomY = 2 + (int) ((y + resize - 0.1) / resize);
 
     var currentRoomData = stage.getScreen(stage.getRoom());
 
-    out[0] =
-        new int[] {
-          tileAt(currentRoomData, topY, leftX),
-          tileAt(currentRoomData, topY, midX),
-          tileAt(currentRoomData, topY, rightX)
-        };
-    out[1] =
-        new int[] {
-          tileAt(currentRoomData, upperMidY, leftX),
-          tileAt(currentRoomData, upperMidY, midX),
-          tileAt(currentRoomData, upperMidY, rightX)
-        };
-    out[2] =
-        new int[] {
-          tileAt(currentRoomData, lowerMidY, leftX),
-          tileAt(currentRoomData, lowerMidY, midX),
-          tileAt(currentRoomData, lowerMidY, rightX)
-        };
-    out[3] =
-        new int[] {
-          tileAt(currentRoomData, bottomY, leftX),
-          tileAt(currentRoomData, bottomY, midX),
-          tileAt(currentRoomData, bottomY, rightX)
-        };
-    return out;
+    for (int row = 0; row < 4; row += 1) {
+      var probeY = row < 3 ? topY + row : bottomY;
+      tileGrid[row][0] = tileAt(currentRoomData, probeY, leftX);
+      tileGrid[row][1] = tileAt(currentRoomData, probeY, midX);
+      tileGrid[row][2] = tileAt(currentRoomData, probeY, rightX);
+    }
+    return tileGrid;
   }
 
   // Crouched code goes here
@@ -496,22 +488,17 @@ public final class Player implements Actor {
 
   /** This method confirms collisions with static immovable objects (e.g. walls and roofs) */
   public void checkCollisions() {
-    int[] xpoints = {0, 0, 0, 0};
-    int[] ypoints = {0, 0, 0, 0};
-
-    float gravity = Config.config().getGravity();
-
     float tileSize = Stage.getTileSize();
 
     // FIXME This is temporary and will be replaced by points[] as we refactor
-    xpoints[0] = (int) ((pos.x() + COLLISION_LEFT_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
-    xpoints[1] = (int) ((pos.x() + COLLISION_LEFT_MID_OFFSET * PIXELS_PER_TILE) / tileSize);
-    xpoints[2] = (int) ((pos.x() + COLLISION_CENTER_X_OFFSET * PIXELS_PER_TILE) / tileSize);
-    xpoints[3] = (int) ((pos.x() + COLLISION_RIGHT_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
-    ypoints[0] = (int) ((pos.y() + COLLISION_TOP_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
-    ypoints[1] = (int) ((pos.y() + COLLISION_MID_HEIGHT_OFFSET * PIXELS_PER_TILE) / tileSize);
-    ypoints[2] = (int) ((pos.y() + COLLISION_LOWER_MID_OFFSET * PIXELS_PER_TILE) / tileSize);
-    ypoints[3] = (int) ((pos.y() + COLLISION_BOTTOM_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
+    xpoints[0] = (int) ((x + COLLISION_LEFT_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
+    xpoints[1] = (int) ((x + COLLISION_LEFT_MID_OFFSET * PIXELS_PER_TILE) / tileSize);
+    xpoints[2] = (int) ((x + COLLISION_CENTER_X_OFFSET * PIXELS_PER_TILE) / tileSize);
+    xpoints[3] = (int) ((x + COLLISION_RIGHT_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
+    ypoints[0] = (int) ((y + COLLISION_TOP_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
+    ypoints[1] = (int) ((y + COLLISION_MID_HEIGHT_OFFSET * PIXELS_PER_TILE) / tileSize);
+    ypoints[2] = (int) ((y + COLLISION_LOWER_MID_OFFSET * PIXELS_PER_TILE) / tileSize);
+    ypoints[3] = (int) ((y + COLLISION_BOTTOM_EDGE_OFFSET * PIXELS_PER_TILE) / tileSize);
 
     // Reset collision state
     collision[COLLISION_UP] = 0;
@@ -529,30 +516,16 @@ public final class Player implements Actor {
       /* Collision with Jean ducking */
 
     } else {
-      for (var y = 0; y < 4; y++) {
-        var tile = points[y][0];
-        if (tile > 0
-                && (tile < TILE_SOLID_MAX)
-                && (tile != TILE_PASSABLE)
-                && (tile != TILE_PASSABLE_VARIANT_1)
-            || ((tile == TILE_SPECIAL_COLLISION)
-                || ((tile > TILE_SPECIAL_LEFT_MIN) && (tile < TILE_SPECIAL_LEFT_MAX)))) {
+      for (var row = 0; row < 4; row++) {
+        if (TileProperties.is(points[row][0], SOLID_LEFT)) {
           collision[COLLISION_LEFT] = 1;
         }
-        tile = points[y][2];
-        if (((tile > 0)
-                && (tile < TILE_SOLID_MAX)
-                && (tile != TILE_PASSABLE)
-                && (tile != TILE_PASSABLE_VARIANT_1))
-            || ((tile > TILE_SPECIAL_RIGHT_MIN) && (tile < TILE_SPECIAL_RIGHT_MAX))) {
+        if (TileProperties.is(points[row][2], SOLID_RIGHT)) {
           collision[COLLISION_RIGHT] = 1;
         }
       }
     }
 
-    int[] blground = {0, 0, 0, 0};
-    int[] blroof = {0, 0};
-
     /* Touch ground collision */
     blground[0] = tileAt(currentRoomData, ypoints[3] + 1, xpoints[0]);
     blground[1] = tileAt(currentRoomData, ypoints[3] + 1, xpoints[1]);
@@ -565,42 +538,34 @@ public final class Player implements Actor {
               && (ypoints[3] + 1 > INVISIBLE_GROUND_ROW_THRESHOLD)
               && (xpoints[0] == INVISIBLE_GROUND_COLUMN))
           || ((room == ROOM_LAKE.index())
-              && ((pos.y() / PIXELS_PER_TILE) < 4)
+              && ((y / PIXELS_PER_TILE) < 4)
               && (xpoints[0] == INVISIBLE_GROUND_COLUMN))) {
-        pos = new Vector2(pos.x(), pos.y() + gravity);
+        y += gravity;
         jump = FALL;
       } else {
         // Main branch
         // points[3]
-        if (((blground[0] > 0)
-                && (blground[0] < TILE_SOLID_MAX)
-                && (blground[0] != TILE_PASSABLE_VARIANT_1))
-            || ((blground[1] > 0)
-                && (blground[1] < TILE_SOLID_MAX)
-                && (blground[1] != TILE_PASSABLE_VARIANT_1))
-            || ((blground[2] > 0)
-                && (blground[2] < TILE_SOLID_MAX)
-                && (blground[2] != TILE_PASSABLE_VARIANT_1))
-            || ((blground[3] > 0)
-                && (blground[3] < TILE_SOLID_MAX)
-                && (blground[3] != TILE_PASSABLE_VARIANT_1))) {
+        if (TileProperties.is(blground[0], GROUND)
+            || TileProperties.is(blground[1], GROUND)
+            || TileProperties.is(blground[2], GROUND)
+            || TileProperties.is(blground[3], GROUND)) {
           ground = (int) ((ypoints[3] + 1) * tileSize);
           if (ypoints[3] + 1 > SCREEN_BOTTOM_ROW_THRESHOLD) {
             /* Dirty trick to make Jean go bottom of the screen */
             ground = SCREEN_BOTTOM_TELEPORT_TILES * PIXELS_PER_TILE;
           }
-          if (ground - pos.y() - PLAYER_HEIGHT_PIXELS > gravity * tileSize) {
-            pos = new Vector2(pos.x(), pos.y() + gravity);
+          if (ground - y - PLAYER_HEIGHT_PIXELS > gravity * tileSize) {
+            sweepBy(0, gravity);
           } else {
             /* Near ground */
-            pos = new Vector2(pos.x(), ground - GROUND_SNAP_OFFSET_MULTIPLIER * tileSize);
+            y = ground - GROUND_SNAP_OFFSET_MULTIPLIER * tileSize;
             height = 0;
             jump = NEUTRAL;
             flags[5] = 0;
           }
         } else {
           /* In air, ground not near */
-          pos = new Vector2(pos.x(), pos.y() + gravity);
+          sweepBy(0, gravity);
           jump = FALL;
         }
       }
@@ -608,22 +573,22 @@ public final class Player implements Actor {
 
     /* Check small platforms */
     if (direction == LEFT) {
-      float rightFootX = pos.x() + COLLISION_RIGHT_EDGE_OFFSET * PIXELS_PER_TILE;
+      float rightFootX = x + COLLISION_RIGHT_EDGE_OFFSET * PIXELS_PER_TILE;
       float rightTileStartX = xpoints[3] * tileSize;
-      if ((blground[3] == TILE_PLATFORM)
+      if (TileProperties.is(blground[3], PLATFORM)
           && (rightFootX < rightTileStartX + PLATFORM_FALL_THRESHOLD_X)
           && (jump == NEUTRAL)) {
-        pos = new Vector2(pos.x(), pos.y() + gravity);
+        y += gravity;
         jump = FALL;
       }
     }
     if (direction == RIGHT) {
-      float leftFootX = pos.x() + PLATFORM_CHECK_X_OFFSET_RIGHT * PIXELS_PER_TILE;
+      float leftFootX = x + PLATFORM_CHECK_X_OFFSET_RIGHT * PIXELS_PER_TILE;
       float leftTileStartX = xpoints[0] * tileSize;
-      if ((blground[0] == TILE_PLATFORM)
+      if (TileProperties.is(blground[0], PLATFORM)
           && (leftFootX > leftTileStartX + PLATFORM_FALL_OFFSET_X * PIXELS_PER_TILE)
           && (jump == NEUTRAL)) {
-        pos = new Vector2(pos.x(), pos.y() + gravity);
+        y += gravity;
         jump = FALL;
       }
     }
@@ -633,16 +598,7 @@ public final class Player implements Actor {
       blroof[0] = tileAt(currentRoomData, ypoints[0] - 1, xpoints[0]);
       blroof[1] = tileAt(currentRoomData, ypoints[0] - 1, xpoints[3]);
 
-      if (((blroof[0] > 0)
-              && (blroof[0] < 105)
-              && (blroof[0] != TILE_PASSABLE)
-              && (blroof[0] != TILE_PLATFORM)
-              && (blroof[0] != TILE_PASSABLE_VARIANT_1))
-          || ((blroof[1] > 0)
-              && (blroof[1] < 105)
-              && (blroof[1] != TILE_PASSABLE)
-              && (blroof[1] != TILE_PLATFORM)
-              && (blroof[1] != TILE_PASSABLE_VARIANT_1))) {
+      if (TileProperties.is(blroof[0], ROOF) || TileProperties.is(blroof[1], ROOF)) {
         // FIXME Need to get closer to the roof before colliding
         //        if ((pos.y() - 1) - ((ypoints[0] - 1) * tileSize) <
         // COLLISION_ROOF_DISTANCE_THRESHOLD) {
@@ -657,16 +613,16 @@ public final class Player implements Actor {
    */
   public boolean checkStaticHazard() {
     var stagedata = stage.getScreen(stage.getRoom());
-    int baseTileX = pos.tileX();
-    int baseTileY = pos.tileY();
+    int baseTileX = tileX();
+    int baseTileY = tileY();
 
     /* Touch static hazard */
-    if (tileAt(stagedata, baseTileY + 1, baseTileX) == TILE_STATIC_HAZARD
-        || tileAt(stagedata, baseTileY + 1, baseTileX + 1) == TILE_STATIC_HAZARD
-        || tileAt(stagedata, baseTileY + 2, baseTileX) == TILE_STATIC_HAZARD
-        || tileAt(stagedata, baseTileY + 2, baseTileX + 1) == TILE_STATIC_HAZARD
-        || tileAt(stagedata, baseTileY + 3, baseTileX) == TILE_STATIC_HAZARD
-        || tileAt(stagedata, baseTileY + 3, baseTileX + 1) == TILE_STATIC_HAZARD) {
+    if (TileProperties.is(tileAt(stagedata, baseTileY + 1, baseTileX), HAZARD)
+        || TileProperties.is(tileAt(stagedata, baseTileY + 1, baseTileX + 1), HAZARD)
+        || TileProperties.is(tileAt(stagedata, baseTileY + 2, baseTileX), HAZARD)
+        || TileProperties.is(tileAt(stagedata, baseTileY + 2, baseTileX + 1), HAZARD)
+        || TileProperties.is(tileAt(stagedata, baseTileY + 3, baseTileX), HAZARD)
+        || TileProperties.is(tileAt(stagedata, baseTileY + 3, baseTileX + 1), HAZARD)) {
       return true;
     }
 
@@ -676,102 +632,211 @@ public final class Player implements Actor {
   public boolean checkStaticObject() {
     int room = stage.getRoom();
     var stagedata = stage.getScreen(room);
-    int baseTileX = pos.tileX();
-    int baseTileY = pos.tileY();
-
-    /* Touch hearts */
-    if (room == ROOM_ASHES.index()) {
-      if ((isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX), 400, 405))
-          || (isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX + 1), 400, 405))) {
-        if (pos.tileX() > 160) {
-          stagedata[7][23] = 0;
-          stagedata[7][24] = 0;
-          stagedata[8][23] = 0;
-          stagedata[8][24] = 0;
-        } else {
-          stagedata[18][8] = 0;
-          stagedata[18][9] = 0;
-          stagedata[19][8] = 0;
-          stagedata[19][9] = 0;
-        }
-        if (lives < 9) {
-          lives += 1;
-        }
-        //        Mix_PlayChannel(-1, fx[2], 0);
-        return true;
-      }
-    } else {
-      if ((isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX), 400, 405))
-          || (isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX + 1), 400, 405))) {
-        for (var v = 0; v < 22; v++) {
-          for (var h = 0; h < 32; h++) {
-            if ((stagedata[v][h] > 400) && (stagedata[v][h] < 405)) stagedata[v][h] = 0;
-          }
-        }
-        if (lives < 9) {
-          lives += 1;
-          //        Mix_PlayChannel(-1, fx[2], 0);
-        }
-        return true;
-      }
+    int row = tileY() + 1;
+    int col = tileX();
+    int group = collectibleAt(room, stagedata, row, col);
+    if (group < 0) {
+      group = collectibleAt(room, stagedata, row, col + 1);
+    }
+    if (group < 0) {
+      return false;
     }
 
-    /* Touch crosses */
-    if ((isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX), 408, 413))
-        || (isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX + 1), 408, 413))) {
-      for (var v = 0; v < 22; v++) {
-        for (var h = 0; h < 32; h++) {
-          if ((stagedata[v][h] > 408) && (stagedata[v][h] < 413)) stagedata[v][h] = 0;
-        }
+    // Only the touched pickup's own tiles are cleared
+    short kind = stage.getCollectibles().kind(group);
+    stage.collect(group);
+    if (kind == HEART) {
+      if (lives < 9) {
+        lives += 1;
       }
+    } else if (kind == CROSS) {
       crosses += 1;
-      //        Mix_PlayChannel(-1, fx[2], 0);
-
-      return true;
+    } else {
+      // FIXME - Don't nuke the waypoint cross, toggle instead.
+      logger.info("Updating waypoint here: " + last);
+      last = new Waypoint(stage.getRoomX(), stage.getRoomY(), x, y);
     }
+    //        Mix_PlayChannel(-1, fx[2], 0);
+    return true;
+  }
 
-    // 321 - 326
-    /* Touch waypoint crosses */
-    if ((isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX), 320, 327))
-        || (isBetweenExclusive(tileAt(stagedata, baseTileY + 1, baseTileX + 1), 320, 327))) {
-      for (var v = 0; v < 22; v++) {
-        for (var h = 0; h < 32; h++) {
-          // FIXME - Don't nuke the waypoint cross, toggle instead.
-          if ((stagedata[v][h] > 320) && (stagedata[v][h] < 327)) stagedata[v][h] = 0;
-        }
-      }
-      // Update waypoint
-      logger.info("Updating waypoint here: " + last);
-      last = new Waypoint(stage.getRoomX(), stage.getRoomY(), pos);
-      //        Mix_PlayChannel(-1, fx[2], 0);
+  /* The pickup group under the tile, if the tile has not already been collected */
+  private int collectibleAt(int room, Screen stagedata, int row, int col) {
+    if (!TileProperties.is(tileAt(stagedata, row, col), (short) (HEART | CROSS | WAYPOINT))) {
+      return -1;
+    }
+    return stage.getCollectibles().groupAt(room, row, col);
+  }
 
-      return true;
+  /**
+   * Blends the previous and current tick positions. A room change or a teleport (e.g. back to a
+   * waypoint) snaps straight to the new position rather than sliding across the screen.
+   */
+  float interpolate(float previous, float current, float alpha) {
+    if (stage.getRoom() != prevRoom
+        || Math.abs(current - previous) > SNAP_DISTANCE_TILES * Stage.getTileSize()) {
+      return current;
     }
+    return previous + (current - previous) * alpha;
+  }
 
-    return false;
+  private int tileX() {
+    return (int) (x / Stage.getTileSize());
   }
 
-  private static boolean isBetweenExclusive(int value, int lowerBound, int upperBound) {
-    return value > lowerBound && value < upperBound;
+  private int tileY() {
+    return (int) (y / Stage.getTileSize());
   }
 
-  private static int tileAt(int[][] roomData, int row, int col) {
-    int safeRow = Math.max(0, Math.min(row, roomData.length - 1));
-    int safeCol = Math.max(0, Math.min(col, roomData[safeRow].length - 1));
-    return roomData[safeRow][safeCol];
+  /* Probes stay within the screen's border, which repeats the edge tiles, so need no clamping */
+  private static int tileAt(Screen roomData, int row, int col) {
+    return roomData.get(row, col);
   }
 
   public static class PlayerSerializer extends JsonSerializer<Player> {
     @Override
     public void serialize(
         Player player, JsonGenerator generator, SerializerProvider serializerProvider)
-        throws IOException {}
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeNumberField("x", player.x);
+      generator.writeNumberField("y", player.y);
+      generator.writeNumberField("vx", player.v.x());
+      generator.writeNumberField("vy", player.v.y());
+      generator.writeStringField("direction", player.direction.name());
+      generator.writeStringField("jump", player.jump.name());
+      generator.writeNumberField("height", player.height);
+      generator.writeBooleanField("crouch", player.crouch);
+      generator.writeBooleanField("walk", player.walk);
+      generator.writeNumberField("animation", player.animation);
+      generator.writeNumberField("ground", player.ground);
+      generator.writeNumberField("counter", player.counter);
+      generator.writeNumberField("lives", player.lives);
+      generator.writeNumberField("crosses", player.crosses);
+      generator.writeObjectFieldStart("waypoint");
+      generator.writeNumberField("roomX", player.last.roomX());
+      generator.writeNumberField("roomY", player.last.roomY());
+      generator.writeNumberField("x", player.last.x());
+      generator.writeNumberField("y", player.last.y());
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+  }
+
+  /* Bytes written by writeState - nine floats, the ints, the flags and collisions, four bytes */
+  static final int STATE_BYTES = 9 * Float.BYTES + (8 + 7 + 4) * Integer.BYTES + 4;
+  /* values() copies its array on every call */
+  private static final Facing[] FACINGS = Facing.values();
+  private static final Vertical[] VERTICALS = Vertical.values();
+
+  /**
+   * Writes everything a tick depends on, for a {@link Snapshot}. Allocates nothing.
+   *
+   * @param out has at least STATE_BYTES remaining
+   */
+  void writeState(ByteBuffer out) {
+    out.putFloat(x);
+    out.putFloat(y);
+    out.putFloat(prevX);
+    out.putFloat(prevY);
+    out.putFloat(v.x());
+    out.putFloat(v.y());
+    out.putFloat(height);
+    out.putFloat(last.x());
+    out.putFloat(last.y());
+    out.putInt(prevRoom);
+    out.putInt(animation);
+    out.putInt(ground);
+    out.putInt(counter);
+    out.putInt(lives);
+    out.putInt(crosses);
+    out.putInt(last.roomX());
+    out.putInt(last.roomY());
+    for (int flag : flags) {
+      out.putInt(flag);
+    }
+    for (int c : collision) {
+      out.putInt(c);
+    }
+    out.put((byte) direction.ordinal());
+    out.put((byte) jump.ordinal());
+    out.put((byte) (crouch ? 1 : 0));
+    out.put((byte) (walk ? 1 : 0));
+  }
+
+  /**
+   * Checks that readState can read a state, without changing anything.
+   *
+   * @param in is left after the state
+   * @throws IllegalArgumentException if the state is cut short or its facing or jump is unknown
+   */
+  static void checkState(ByteBuffer in) {
+    if (in.remaining() < STATE_BYTES) {
+      throw new IllegalArgumentException("Player state cut short");
+    }
+    int enums = in.position() + STATE_BYTES - 4;
+    int facing = in.get(enums);
+    int vertical = in.get(enums + 1);
+    if (facing < 0 || facing >= FACINGS.length || vertical < 0 || vertical >= VERTICALS.length) {
+      throw new IllegalArgumentException(
+          "Unknown facing or jump in player state: " + facing + ", " + vertical);
+    }
+    in.position(in.position() + STATE_BYTES);
+  }
+
+  /**
+   * Reads back what writeState wrote, once checkState has passed it. The velocity and waypoint are
+   * only replaced if they differ, so restoring a recent state usually allocates nothing.
+   *
+   * @param in
+   */
+  void readState(ByteBuffer in) {
+    x = in.getFloat();
+    y = in.getFloat();
+    prevX = in.getFloat();
+    prevY = in.getFloat();
+    float vx = in.getFloat();
+    float vy = in.getFloat();
+    height = in.getFloat();
+    float lastX = in.getFloat();
+    float lastY = in.getFloat();
+    prevRoom = in.getInt();
+    animation = in.getInt();
+    ground = in.getInt();
+    counter = in.getInt();
+    lives = in.getInt();
+    crosses = in.getInt();
+    int lastRoomX = in.getInt();
+    int lastRoomY = in.getInt();
+    for (int i = 0; i < flags.length; i += 1) {
+      flags[i] = in.getInt();
+    }
+    for (int i = 0; i < collision.length; i += 1) {
+      collision[i] = in.getInt();
+    }
+    direction = FACINGS[in.get()];
+    jump = VERTICALS[in.get()];
+    crouch = in.get() != 0;
+    walk = in.get() != 0;
+
+    if (v.x() != vx || v.y() != vy) {
+      v = new Vector2(vx, vy);
+    }
+    if (last.roomX() != lastRoomX
+        || last.roomY() != lastRoomY
+        || last.x() != lastX
+        || last.y() != lastY) {
+      last = new Waypoint(lastRoomX, lastRoomY, lastX, lastY);
+    }
   }
 
   private Player(Layer layer, Stage stage) {
     this.layer = layer;
     this.stage = stage;
-    this.pos = last.getPos();
+    this.logger = layer.getContext().getLogger();
+    this.gravity = layer.getContext().getConfig().getGravity();
+    this.x = last.x();
+    this.y = last.y();
     // new Vector2(Config.config().getScreenWidth() / 2, 1088.0f); // FIXME
   }
 
@@ -789,7 +854,7 @@ public final class Player implements Actor {
         + ", stage="
         + stage
         + ", pos="
-        + pos
+        + getPos()
         + ", v="
         + v
         + ", crouch="
@@ -819,11 +884,22 @@ public final class Player implements Actor {
 
   @Override
   public Vector2 getPos() {
-    return pos;
+    return new Vector2(x, y);
   }
 
   public void setPos(Vector2 pos) {
-    this.pos = pos;
+    this.x = pos.x();
+    this.y = pos.y();
+  }
+
+  // The position as plain floats, for the broadphase to read every tick
+
+  float x() {
+    return x;
+  }
+
+  float y() {
+    return y;
   }
 
   @Override
@@ -833,7 +909,7 @@ public final class Player implements Actor {
 
   @Override
   public Vector2 getSize() {
-    return new Vector2(16, 24);
+    return SIZE;
   }
 
   @Override
@@ -0,0 +1,94 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.TILES_PER_COL;
+import static abbaye.model.Stage.TILES_PER_ROW;
+
+import abbaye.basic.Corners;
+
+/**
+ * Atlas rectangles for every frame of the player sprite, built once. The player is a 2x3 block of
+ * tiles, which is contiguous in the atlas, so each frame is a single rectangle and the player is
+ * drawn as one quad. Frames are laid out as in the original drawjean(): two walking frames, a jump
+ * frame and two crouching frames, side by side from tile column 40 of row 11.
+ */
+final class PlayerSprites {
+  static final int WIDTH_TILES = 2;
+  static final int HEIGHT_TILES = 3;
+
+  static final int POSE_WALK = 0;
+  static final int POSE_JUMP = 1;
+  static final int POSE_CROUCH = 2;
+  static final int POSES = 3;
+  static final int FRAMES_PER_POSE = 2;
+
+  /* The animation counter runs 0..13, and each frame is held for 7 ticks */
+  static final int TICKS_PER_FRAME = 7;
+
+  private static final int SPRITE_ROW = 11;
+  /* First tile column of each pose - the jump pose has only one frame */
+  private static final int[] POSE_COLUMNS = {40, 44, 48};
+
+  private static final Corners[] FRAMES = build();
+
+  private PlayerSprites() {}
+
+  /**
+   * Picks the frame for the player's current state. This is just an index into the prebuilt table.
+   *
+   * @param facing
+   * @param jump
+   * @param crouch
+   * @param animation the walk counter, 0..13
+   * @return the atlas rectangle for the whole 2x3 sprite
+   */
+  static Corners frame(Facing facing, Vertical jump, boolean crouch, int animation) {
+    int pose;
+    if (jump != Vertical.NEUTRAL) {
+      pose = POSE_JUMP;
+    } else if (crouch) {
+      pose = POSE_CROUCH;
+    } else {
+      pose = POSE_WALK;
+    }
+    int frame = (animation / TICKS_PER_FRAME) % FRAMES_PER_POSE;
+    return FRAMES[index(facing, pose, frame)];
+  }
+
+  static int index(Facing facing, int pose, int frame) {
+    return (facing.ordinal() * POSES + pose) * FRAMES_PER_POSE + frame;
+  }
+
+  ///////////// Helpers
+
+  private static Corners[] build() {
+    var frames = new Corners[Facing.values().length * POSES * FRAMES_PER_POSE];
+    for (var facing : Facing.values()) {
+      for (int pose = 0; pose < POSES; pose += 1) {
+        for (int frame = 0; frame < FRAMES_PER_POSE; frame += 1) {
+          if (pose == POSE_JUMP && frame > 0) {
+            // The jump pose repeats its single frame
+            frames[index(facing, pose, frame)] = frames[index(facing, pose, 0)];
+          } else {
+            int column = POSE_COLUMNS[pose] + frame * WIDTH_TILES;
+            frames[index(facing, pose, frame)] = region(column, SPRITE_ROW, facing);
+          }
+        }
+      }
+    }
+    return frames;
+  }
+
+  /** The atlas is drawn facing left, so facing right swaps u1 and u2 */
+  static Corners region(int tileX, int tileY, Facing facing) {
+    float u1 = (float) tileX / TILES_PER_ROW;
+    float v1 = (float) tileY / TILES_PER_COL;
+    float u2 = (float) (tileX + WIDTH_TILES) / TILES_PER_ROW;
+    float v2 = (float) (tileY + HEIGHT_TILES) / TILES_PER_COL;
+
+    if (facing == Facing.RIGHT) {
+      return new Corners(u2, 1 - v1, u1, 1 - v2);
+    }
+    return new Corners(u1, 1 - v1, u2, 1 - v2);
+  }
+}
@@ -0,0 +1,321 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The last few seconds of play, one {@link Snapshot} per tick, so that play can be wound back.
+ * Everything is allocated up front, so recording allocates nothing and rewinding next to nothing.
+ *
+ * <p>Most of a game's state is the same from one tick to the next, so each snapshot is stored as
+ * the byte ranges that differ from the one before. Once a second a whole snapshot is stored
+ * instead, as a keyframe for the deltas after it, so a rewind decodes at most a second's deltas.
+ * The oldest second is dropped as a whole when the history is full.
+ *
+ * <p>A delta is the snapshot's length, then runs of a count of unchanged bytes, a count of changed
+ * bytes and the changed bytes. Bytes after the last run are unchanged. Counts are unsigned varints.
+ */
+public final class RewindBuffer {
+  /* Ticks from one keyframe to the next */
+  static final int KEYFRAME_INTERVAL = 60;
+  /* Bytes set aside per tick for deltas. A tick that changes little needs a few dozen. */
+  static final int DELTA_BYTES_PER_TICK = 64;
+  /* Unchanged bytes shorter than this are cheaper to copy than to skip */
+  private static final int MIN_SKIP = 3;
+
+  private final Snapshot snapshot;
+
+  // Per entry, oldest at first, newest at (first + count - 1), modulo the capacity
+  private final long[] ticks;
+  private final int[] start;
+  private final int[] length;
+  private final boolean[] key;
+  private int first = 0;
+  private int count = 0;
+
+  /* Entries' bytes, written round and round - next is where the next entry goes */
+  private final byte[] arena;
+  private int next = 0;
+
+  // Scratch, each big enough for a whole snapshot
+  private byte[] previous;
+  private int previousLength = 0;
+  private byte[] current;
+  private final byte[] delta;
+  private final byte[] work;
+  private final ByteBuffer workBuffer;
+  private int sinceKey = 0;
+
+  private RewindBuffer(Snapshot snapshot, int historyTicks) {
+    if (historyTicks < 1) {
+      throw new IllegalArgumentException("History must be at least a tick: " + historyTicks);
+    }
+    this.snapshot = snapshot;
+    int capacity = historyTicks + KEYFRAME_INTERVAL;
+    ticks = new long[capacity];
+    start = new int[capacity];
+    length = new int[capacity];
+    key = new boolean[capacity];
+
+    int snapshotBytes = snapshot.capacity();
+    arena = new byte[2 * snapshotBytes + capacity * DELTA_BYTES_PER_TICK];
+    previous = new byte[snapshotBytes];
+    current = new byte[snapshotBytes];
+    delta = new byte[snapshotBytes];
+    work = new byte[snapshotBytes];
+    workBuffer = ByteBuffer.wrap(work);
+  }
+
+  /**
+   * @param snapshot takes and restores the game's state
+   * @param historyTicks how many ticks to keep, at least. If the game's state grows far beyond the
+   *     usual, e.g. with many thousands of changed tiles, fewer are kept rather than using more
+   *     memory.
+   * @return an empty buffer
+   */
+  public static RewindBuffer of(Snapshot snapshot, int historyTicks) {
+    return new RewindBuffer(snapshot, historyTicks);
+  }
+
+  /**
+   * Takes a snapshot of the game and adds it as the newest, dropping the oldest second if need be.
+   * Called once per tick.
+   *
+   * @param tick
+   */
+  public void record(long tick) {
+    var state = snapshot.take(tick);
+    int stateLength = state.remaining();
+    state.get(current, 0, stateLength);
+
+    boolean isKey = count == 0 || sinceKey + 1 >= KEYFRAME_INTERVAL;
+    int deltaLength = isKey ? -1 : encode(previous, previousLength, current, stateLength, delta);
+    if (deltaLength < 0) {
+      isKey = true;
+    }
+    int at = reserve(isKey ? stateLength : deltaLength);
+    if (count == 0 && !isKey) {
+      // Making room dropped the keyframe the delta was against
+      isKey = true;
+      at = reserve(stateLength);
+    }
+    if (isKey) {
+      System.arraycopy(current, 0, arena, at, stateLength);
+    } else {
+      System.arraycopy(delta, 0, arena, at, deltaLength);
+    }
+    int slot = slot(count);
+    ticks[slot] = tick;
+    start[slot] = at;
+    length[slot] = isKey ? stateLength : deltaLength;
+    key[slot] = isKey;
+    count += 1;
+    next = at + length[slot];
+    sinceKey = isKey ? 0 : sinceKey + 1;
+
+    var swap = previous;
+    previous = current;
+    current = swap;
+    previousLength = stateLength;
+  }
+
+  /**
+   * Puts the game back as it was a number of ticks ago, or as far back as the history goes. The
+   * history after that point is dropped, so play carries on from there.
+   *
+   * @param ticksBack 0 for the newest snapshot
+   * @return the tick the game was put back to, or -1 if nothing has been recorded
+   */
+  public long rewind(int ticksBack) {
+    if (count == 0) {
+      return -1;
+    }
+    long target = ticks[slot(count - 1)] - ticksBack;
+    int entry = count - 1;
+    while (entry > 0 && ticks[slot(entry)] > target) {
+      entry -= 1;
+    }
+    int keyEntry = entry;
+    while (!key[slot(keyEntry)]) {
+      keyEntry -= 1;
+    }
+
+    int s = slot(keyEntry);
+    int stateLength = length[s];
+    System.arraycopy(arena, start[s], work, 0, stateLength);
+    for (int e = keyEntry + 1; e <= entry; e += 1) {
+      s = slot(e);
+      stateLength = decode(arena, start[s], start[s] + length[s], work);
+    }
+    snapshot.restore(workBuffer.clear().limit(stateLength));
+
+    s = slot(entry);
+    count = entry + 1;
+    next = start[s] + length[s];
+    sinceKey = entry - keyEntry;
+    System.arraycopy(work, 0, previous, 0, stateLength);
+    previousLength = stateLength;
+    return ticks[s];
+  }
+
+  /** Forgets the whole history, e.g. for a new game */
+  public void clear() {
+    first = 0;
+    count = 0;
+    next = 0;
+    previousLength = 0;
+    sinceKey = 0;
+  }
+
+  /**
+   * @return how many ticks can be rewound, at most
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * @return the bytes taken by the stored snapshots
+   */
+  public int bytesUsed() {
+    int used = 0;
+    for (int e = 0; e < count; e += 1) {
+      used += length[slot(e)];
+    }
+    return used;
+  }
+
+  ///////////// Helpers
+
+  private int slot(int entry) {
+    return (first + entry) % ticks.length;
+  }
+
+  /* Finds room in the arena for an entry, dropping the oldest second as often as needed */
+  private int reserve(int bytes) {
+    while (true) {
+      if (count == 0) {
+        next = 0;
+        return 0;
+      }
+      if (count < ticks.length) {
+        int oldest = start[first];
+        if (next > oldest) {
+          // Live bytes run from oldest to next - use the end of the arena, or else its start
+          if (next + bytes <= arena.length) {
+            return next;
+          }
+          if (bytes <= oldest) {
+            return 0;
+          }
+        } else if (next + bytes <= oldest) {
+          return next;
+        }
+      }
+      dropOldest();
+    }
+  }
+
+  /* Drops the oldest entry and the deltas that depend on it, up to the next keyframe */
+  private void dropOldest() {
+    do {
+      first = (first + 1) % ticks.length;
+      count -= 1;
+    } while (count > 0 && !key[first]);
+  }
+
+  /**
+   * @return the length of the delta, or -1 if it would be no smaller than the state itself
+   */
+  static int encode(byte[] from, int fromLength, byte[] to, int toLength, byte[] out) {
+    int pos = putVarint(out, 0, toLength);
+    int i = 0;
+    while (i < toLength) {
+      int skipFrom = i;
+      while (i < toLength && i < fromLength && from[i] == to[i]) {
+        i += 1;
+      }
+      if (i == toLength) {
+        break;
+      }
+      int copyFrom = i;
+      // Copy on through short runs of unchanged bytes
+      int same = 0;
+      while (i < toLength && same < MIN_SKIP) {
+        same = i < fromLength && from[i] == to[i] ? same + 1 : 0;
+        i += 1;
+      }
+      if (same == MIN_SKIP) {
+        i -= same;
+      }
+      int copyLength = i - copyFrom;
+      if (pos + 2 * 5 + copyLength >= toLength) {
+        return -1;
+      }
+      pos = putVarint(out, pos, copyFrom - skipFrom);
+      pos = putVarint(out, pos, copyLength);
+      System.arraycopy(to, copyFrom, out, pos, copyLength);
+      pos += copyLength;
+    }
+    return pos < toLength ? pos : -1;
+  }
+
+  /**
+   * Applies a delta to the state before it, in place.
+   *
+   * @param in holds the delta
+   * @param at where the delta starts
+   * @param end where it ends
+   * @param state the previous state, overwritten by the new one
+   * @return the new state's length
+   */
+  static int decode(byte[] in, int at, int end, byte[] state) {
+    int pos = at;
+    int stateLength = 0;
+    for (int shift = 0; ; shift += 7) {
+      int b = in[pos++];
+      stateLength |= (b & 0x7f) << shift;
+      if ((b & 0x80) == 0) {
+        break;
+      }
+    }
+    int i = 0;
+    while (pos < end) {
+      int skip = 0;
+      for (int shift = 0; ; shift += 7) {
+        int b = in[pos++];
+        skip |= (b & 0x7f) << shift;
+        if ((b & 0x80) == 0) {
+          break;
+        }
+      }
+      int copy = 0;
+      for (int shift = 0; ; shift += 7) {
+        int b = in[pos++];
+        copy |= (b & 0x7f) << shift;
+        if ((b & 0x80) == 0) {
+          break;
+        }
+      }
+      i += skip;
+      System.arraycopy(in, pos, state, i, copy);
+      pos += copy;
+      i += copy;
+    }
+    return stateLength;
+  }
+
+  private static int putVarint(byte[] out, int pos, int value) {
+    while ((value & ~0x7f) != 0) {
+      out[pos++] = (byte) ((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    out[pos++] = (byte) value;
+    return pos;
+  }
+
+  @Override
+  public String toString() {
+    return "RewindBuffer{" + "size=" + count + ", bytesUsed=" + bytesUsed() + '}';
+  }
+}
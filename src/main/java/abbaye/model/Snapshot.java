@@ -0,0 +1,194 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Optional;
+
+/**
+ * Saves and restores the state of a game in progress: the player, including the last waypoint and
+ * the lives and crosses counters, the current room, the tiles play has changed and where every
+ * enemy is. Nothing that is fixed once the map is loaded is saved, so a snapshot only makes sense
+ * to the same map.
+ *
+ * <p>Taking a snapshot writes into one buffer, owned by the snapshot and reused every time, so it
+ * can be done every tick without allocating. Everything is little-endian. A 20 byte header holds a
+ * magic number, the format version, the tick and the number of enemies, then come the player's
+ * fields, the room and changed tiles from {@link Stage} and the enemies' positions and velocities.
+ *
+ * <p>The same state can be written as JSON, for debugging.
+ */
+public final class Snapshot {
+  static final int MAGIC = 'A' | 'B' << 8 | 'S' << 16 | 'T' << 24;
+  static final short VERSION = 1;
+  static final int HEADER_BYTES = 20;
+
+  private static final Player.PlayerSerializer PLAYER_JSON = new Player.PlayerSerializer();
+  private static final Enemy.EnemySerializer ENEMY_JSON = new Enemy.EnemySerializer();
+
+  private final Player player;
+  private final Stage stage;
+  private final Optional<EnemyManager> oEnemies;
+  private final ByteBuffer buffer;
+
+  private Snapshot(Player player, Stage stage, Optional<EnemyManager> oEnemies) {
+    this.player = player;
+    this.stage = stage;
+    this.oEnemies = oEnemies;
+    this.buffer = ByteBuffer.allocate(maxBytes(oEnemies)).order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  public static Snapshot of(Player player, Stage stage) {
+    return new Snapshot(player, stage, Optional.empty());
+  }
+
+  public static Snapshot of(Player player, Stage stage, EnemyManager enemies) {
+    return new Snapshot(player, stage, Optional.of(enemies));
+  }
+
+  /**
+   * @param oEnemies
+   * @return the most a snapshot can take, when every tile of the map has been changed
+   */
+  static int maxBytes(Optional<EnemyManager> oEnemies) {
+    return HEADER_BYTES
+        + Player.STATE_BYTES
+        + Stage.MAX_STATE_BYTES
+        + oEnemies.map(EnemyManager::stateBytes).orElse(0);
+  }
+
+  /**
+   * @return the most bytes a snapshot of this game can take
+   */
+  public int capacity() {
+    return buffer.capacity();
+  }
+
+  /**
+   * Takes a snapshot of the game as it is now. Allocates nothing.
+   *
+   * @param tick the simulation tick, e.g. from {@link abbaye.GameContext#getTick()}
+   * @return the snapshot, ready to read. This is the same buffer every time, so it is overwritten
+   *     by the next call - copy it out to keep it.
+   */
+  public ByteBuffer take(long tick) {
+    buffer.clear();
+    buffer.putInt(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putShort((short) 0); // Reserved
+    buffer.putLong(tick);
+    buffer.putInt(enemyCount());
+    player.writeState(buffer);
+    stage.writeState(buffer);
+    if (oEnemies.isPresent()) {
+      oEnemies.get().writeState(buffer);
+    }
+    return buffer.flip();
+  }
+
+  /**
+   * Puts the game back as a snapshot found it. The buffer is read from its position, which is left
+   * after the snapshot.
+   *
+   * <p>The whole snapshot is checked before any of it is applied, so if it is rejected the game is
+   * left as it was.
+   *
+   * @param in a snapshot from take(), of the same map
+   * @return the tick the snapshot was taken at
+   * @throws IllegalArgumentException if the buffer is not a whole snapshot of this game. Neither
+   *     the game nor the buffer's position have changed.
+   */
+  public long restore(ByteBuffer in) {
+    long tick = check(in.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+    var order = in.order();
+    in.order(ByteOrder.LITTLE_ENDIAN).position(in.position() + HEADER_BYTES);
+    try {
+      player.readState(in);
+      stage.readState(in);
+      if (oEnemies.isPresent()) {
+        oEnemies.get().readState(in);
+      }
+      return tick;
+    } finally {
+      in.order(order);
+    }
+  }
+
+  /**
+   * Writes the game as it is now as one JSON object, streamed straight to the generator.
+   *
+   * @param generator
+   * @param tick
+   */
+  public void writeJson(JsonGenerator generator, long tick) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("version", VERSION);
+    generator.writeNumberField("tick", tick);
+    generator.writeFieldName("player");
+    PLAYER_JSON.serialize(player, generator, null);
+
+    generator.writeObjectFieldStart("stage");
+    generator.writeNumberField("room", stage.getRoom());
+    generator.writeArrayFieldStart("changed");
+    // Read the changed tiles back out of a fresh snapshot, so the two forms always agree
+    var state = take(tick).position(HEADER_BYTES + Player.STATE_BYTES + Short.BYTES);
+    int changed = state.getInt();
+    for (int i = 0; i < changed; i += 1) {
+      int at = state.getInt();
+      generator.writeStartObject();
+      generator.writeNumberField("room", at / ROOM_SIZE);
+      generator.writeNumberField("row", (at % ROOM_SIZE) / STRIDE - BORDER);
+      generator.writeNumberField("col", at % STRIDE - BORDER);
+      generator.writeNumberField("tile", state.getShort());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+
+    generator.writeArrayFieldStart("enemies");
+    if (oEnemies.isPresent()) {
+      var enemies = oEnemies.get();
+      for (int room = 0; room < NUM_SCREENS; room += 1) {
+        for (int i = 0; i < enemies.count(room); i += 1) {
+          ENEMY_JSON.serialize(enemies.get(room, i), generator, null);
+        }
+      }
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  ///////////// Helpers
+
+  /* A dry run of restore(), reading all of the snapshot but applying none of it */
+  private long check(ByteBuffer in) {
+    if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a snapshot");
+    }
+    var version = in.getShort();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported snapshot version: " + version);
+    }
+    in.getShort(); // Reserved
+    long tick = in.getLong();
+    int enemies = in.getInt();
+    if (enemies != enemyCount()) {
+      throw new IllegalArgumentException(
+          "Snapshot has " + enemies + " enemies, the game has " + enemyCount());
+    }
+    Player.checkState(in);
+    stage.checkState(in);
+    if (oEnemies.isPresent()) {
+      oEnemies.get().checkState(in);
+    }
+    return tick;
+  }
+
+  private int enemyCount() {
+    return oEnemies.isPresent() ? oEnemies.get().total() : 0;
+  }
+}
@@ -8,8 +8,15 @@ import abbaye.basic.Corners;
 import abbaye.basic.Renderable;
 import abbaye.graphics.StageRenderer;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /** The stage shows the layout of the furniture of the current screen */
 public final class Stage implements Renderable {
@@ -24,6 +31,10 @@ public final class Stage implements Renderable {
 
   public static final int LEFT_EDGE = 0;
   public static final int TOP_EDGE = 0;
+
+  /** Tile type IDs are below this - comfortably above the highest tile id in the map */
+  public static final int TILE_TYPES = 1024;
+
   // Tile type IDs
   static final int TILE_EMPTY = 0;
   static final int TILE_PASSABLE = 16;
@@ -59,57 +70,210 @@ public final class Stage implements Renderable {
   static final int ROOM_BEAST_INVISIBLE_WALL_END = 32;
   static final int SCREEN_BOTTOM_ROW_THRESHOLD = 21;
 
-  private int[][][] stagedata = new int[NUM_SCREENS][NUM_ROWS][NUM_COLUMNS];
+  /* Each room is stored with a border this many tiles wide, a copy of its edge tiles */
+  static final int BORDER = 2;
+  static final int STRIDE = NUM_COLUMNS + 2 * BORDER;
+  static final int ROOM_SIZE = (NUM_ROWS + 2 * BORDER) * STRIDE;
+
+  /* Every room's tiles, one after another, each row by row with its border */
+  private final short[] tiles = new short[NUM_SCREENS * ROOM_SIZE];
+  private final Screen[] screens = new Screen[NUM_SCREENS];
+  /* The tiles as loaded, never changed by play, and which tiles play has changed since */
+  private final short[] pristine = new short[NUM_SCREENS * ROOM_SIZE];
+  private final BitSet touched = new BitSet(NUM_SCREENS * ROOM_SIZE);
+  /* Scratch for readState - changed tiles that the state being read does not mention */
+  private final BitSet stale = new BitSet(NUM_SCREENS * ROOM_SIZE);
+  /* Bumped whenever a tile in the room changes, so cached room geometry knows to rebuild */
+  private final int[] roomVersions = new int[NUM_SCREENS];
+  private Collectibles collectibles;
   // Initial room coordinates
-  private int roomx = 2; // 0
-  private int roomy = 0; // 1
+  static final int START_ROOM_X = 2;
+  static final int START_ROOM_Y = 0;
+  private int roomx = START_ROOM_X; // 0
+  private int roomy = START_ROOM_Y; // 1
 
   private Map<Integer, Corners> cache = new HashMap<>();
+  private final List<TileListener> listeners = new ArrayList<>();
+
+  /** Notified whenever a single tile is changed via setTile */
+  @FunctionalInterface
+  public interface TileListener {
+    void tileChanged(int room, int row, int col, int tileType);
+  }
+
+  /**
+   * A read-only view of one room's tiles. Rows and columns up to {@link #BORDER} tiles outside the
+   * room can be read too, and give the nearest edge tile, so probes that stray just off the room
+   * need no bounds checks or clamping.
+   */
+  public static final class Screen {
+    private final short[] tiles;
+    /* Index of row 0, column 0 */
+    private final int origin;
+
+    private Screen(short[] tiles, int origin) {
+      this.tiles = tiles;
+      this.origin = origin;
+    }
+
+    /**
+     * @param row -BORDER <= row < NUM_ROWS + BORDER
+     * @param col -BORDER <= col < NUM_COLUMNS + BORDER
+     * @return the tile type
+     */
+    public int get(int row, int col) {
+      return tiles[origin + row * STRIDE + col];
+    }
+
+    /**
+     * Copies one row of the room, without its border.
+     *
+     * @param row 0 <= row < NUM_ROWS
+     * @param dst
+     */
+    public void getRow(int row, ShortBuffer dst) {
+      dst.put(tiles, origin + row * STRIDE, NUM_COLUMNS);
+    }
+
+    public int rows() {
+      return NUM_ROWS;
+    }
+
+    public int cols() {
+      return NUM_COLUMNS;
+    }
+  }
 
   private StageRenderer renderer;
   private boolean is16Bit = false;
   private boolean changeflag = false;
 
+  public Stage() {
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      screens[room] = new Screen(tiles, index(room, 0, 0));
+    }
+    collectibles = Collectibles.build(this);
+  }
+
   public void load(long window) {
     this.renderer = new StageRenderer(window);
     load();
   }
 
+  /**
+   * @return the compiled map if the build has made one, otherwise the text map
+   */
+  public static String defaultMap() {
+    var compiled = "/map/map" + MapCompiler.SUFFIX;
+    return Stage.class.getResource(compiled) != null ? compiled : "/map/map.txt";
+  }
+
   /** Loads stage screens from default location */
   public void load() {
-    load("/map/map.txt");
+    load(defaultMap());
     if (AbbayeMain.isGlEnabled()) {
       renderer.init(this);
     }
   }
 
   /**
-   * Loads stage from supplied resource
+   * Loads stage from supplied resource, either a text map or one compiled by {@link MapCompiler}
    *
    * @param mapResource
    */
   public void load(String mapResource) {
-    var input = Stage.class.getResourceAsStream(mapResource);
-    try (BufferedReader br = new BufferedReader(new InputStreamReader(input))) {
-      String line;
-
-      // Skip two header lines
-      br.readLine();
-
-      for (int i = 0; i < NUM_SCREENS; i += 1) {
-        for (int j = 0; j < NUM_ROWS; j += 1) {
-          line = br.readLine();
-          for (int k = 0; k < NUM_COLUMNS; k += 1) {
-            // Extract 3 characters, parse as int
-            String temp = line.substring(k * 4, k * 4 + 3);
-            stagedata[i][j][k] = Integer.parseInt(temp.trim());
-          }
-        }
-        br.readLine(); // Skip separator line
+    try (var input = Stage.class.getResourceAsStream(mapResource)) {
+      if (mapResource.endsWith(MapCompiler.SUFFIX)) {
+        MapCompiler.read(input, tiles);
+      } else {
+        readText(input);
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
+    loaded();
+  }
+
+  /**
+   * Loads stage from a compiled map file, which is memory-mapped rather than read
+   *
+   * @param mapFile
+   */
+  public void load(Path mapFile) {
+    try {
+      MapCompiler.read(mapFile, tiles);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    loaded();
+  }
+
+  /**
+   * Loads stage from a text map
+   *
+   * @param input
+   */
+  void loadText(InputStream input) throws IOException {
+    readText(input);
+    loaded();
+  }
+
+  private void readText(InputStream input) throws IOException {
+    BufferedReader br = new BufferedReader(new InputStreamReader(input));
+    String line;
+
+    // Skip two header lines
+    br.readLine();
+
+    for (int i = 0; i < NUM_SCREENS; i += 1) {
+      for (int j = 0; j < NUM_ROWS; j += 1) {
+        line = br.readLine();
+        for (int k = 0; k < NUM_COLUMNS; k += 1) {
+          // Extract 3 characters, parse as int
+          String temp = line.substring(k * 4, k * 4 + 3);
+          tiles[index(i, j, k)] = Short.parseShort(temp.trim());
+        }
+      }
+      br.readLine(); // Skip separator line
+    }
+  }
+
+  /* Called once the interior of every room is filled in */
+  private void loaded() {
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        for (int col = 0; col < NUM_COLUMNS; col += 1) {
+          if (row == 0 || row == NUM_ROWS - 1 || col == 0 || col == NUM_COLUMNS - 1) {
+            fillBorder(room, row, col);
+          }
+        }
+      }
+    }
+    System.arraycopy(tiles, 0, pristine, 0, tiles.length);
+    touched.clear();
+    collectibles = Collectibles.build(this);
+  }
+
+  /* Copies an edge tile out over the border cells nearest to it */
+  private void fillBorder(int room, int row, int col) {
+    int fromRow = row == 0 ? -BORDER : row;
+    int toRow = row == NUM_ROWS - 1 ? row + BORDER : row;
+    int fromCol = col == 0 ? -BORDER : col;
+    int toCol = col == NUM_COLUMNS - 1 ? col + BORDER : col;
+    var tileType = tiles[index(room, row, col)];
+    for (int r = fromRow; r <= toRow; r += 1) {
+      for (int c = fromCol; c <= toCol; c += 1) {
+        tiles[index(room, r, c)] = tileType;
+      }
+    }
+  }
+
+  /**
+   * @return the position of a tile in the flat storage. Rows and columns may be up to BORDER
+   *     outside the room.
+   */
+  static int index(int room, int row, int col) {
+    return room * ROOM_SIZE + (row + BORDER) * STRIDE + col + BORDER;
   }
 
   @Override
@@ -118,18 +282,229 @@ public final class Stage implements Renderable {
     return out;
   }
 
+  @Override
+  public void cleanup() {
+    if (renderer != null) {
+      renderer.cleanup();
+    }
+  }
+
   /**
    * @param level
-   * @return 2d array of tile ids in [x][y] order
+   * @return a view of the room's tiles, read as get(row, col)
    */
-  public int[][] getScreen(int level) {
-    return stagedata[level];
+  public Screen getScreen(int level) {
+    return screens[level];
+  }
+
+  /**
+   * Changes a single tile, e.g. when the player collects an item. All gameplay mutations of the map
+   * should come through here so that renderers can tell the room has changed.
+   *
+   * @param room
+   * @param row
+   * @param col
+   * @param tileType
+   */
+  public void setTile(int room, int row, int col, int tileType) {
+    Objects.checkIndex(row, NUM_ROWS);
+    Objects.checkIndex(col, NUM_COLUMNS);
+    if (writeTile(room, row, col, tileType)) {
+      touched.set(index(room, row, col));
+    }
+  }
+
+  /**
+   * Puts every tile changed since the map was loaded back as it was, e.g. to start a new game. Only
+   * the changed tiles are visited, and listeners hear about each one as usual. The player is sent
+   * back to the first room.
+   *
+   * @return the number of tiles restored
+   */
+  public int restart() {
+    roomx = START_ROOM_X;
+    roomy = START_ROOM_Y;
+    return restore(0, tiles.length);
+  }
+
+  /**
+   * As restart(), for the tiles of one room only
+   *
+   * @param room
+   * @return the number of tiles restored
+   */
+  public int restoreRoom(int room) {
+    return restore(room * ROOM_SIZE, (room + 1) * ROOM_SIZE);
+  }
+
+  private int restore(int from, int to) {
+    int restored = 0;
+    for (int at = touched.nextSetBit(from); at >= 0 && at < to; at = touched.nextSetBit(at + 1)) {
+      int room = at / ROOM_SIZE;
+      int row = (at % ROOM_SIZE) / STRIDE - BORDER;
+      int col = at % STRIDE - BORDER;
+      if (writeTile(room, row, col, pristine[at])) {
+        restored += 1;
+      }
+    }
+    touched.clear(from, to);
+    return restored;
+  }
+
+  /* Bytes writeState can need at most - the room, a count and every cell of every room changed */
+  static final int MAX_STATE_BYTES =
+      Short.BYTES
+          + Integer.BYTES
+          + NUM_SCREENS * NUM_ROWS * NUM_COLUMNS * (Integer.BYTES + Short.BYTES);
+
+  /**
+   * Writes the current room and every tile changed since the map was loaded, as its index and type,
+   * for a {@link Snapshot}. Allocates nothing.
+   *
+   * @param out
+   */
+  void writeState(ByteBuffer out) {
+    out.putShort((short) getRoom());
+    out.putInt(touched.cardinality());
+    for (int at = touched.nextSetBit(0); at >= 0; at = touched.nextSetBit(at + 1)) {
+      out.putInt(at);
+      out.putShort(tiles[at]);
+    }
+  }
+
+  /**
+   * Checks that readState can read a state, without changing anything.
+   *
+   * @param in is left after the state
+   * @throws IllegalArgumentException if the state is cut short, or names a room or a tile that does
+   *     not exist
+   */
+  void checkState(ByteBuffer in) {
+    if (in.remaining() < Short.BYTES + Integer.BYTES) {
+      throw new IllegalArgumentException("Stage state cut short");
+    }
+    int room = in.getShort();
+    if (room < 0 || room >= NUM_SCREENS) {
+      throw new IllegalArgumentException("No such room: " + room);
+    }
+    int count = in.getInt();
+    if (count < 0 || count > in.remaining() / (Integer.BYTES + Short.BYTES)) {
+      throw new IllegalArgumentException("Stage state cut short, with " + count + " changed tiles");
+    }
+    for (int i = 0; i < count; i += 1) {
+      int at = in.getInt();
+      in.getShort();
+      int row = (at % ROOM_SIZE) / STRIDE - BORDER;
+      int col = at % STRIDE - BORDER;
+      if (at < 0
+          || at >= tiles.length
+          || row < 0
+          || row >= NUM_ROWS
+          || col < 0
+          || col >= NUM_COLUMNS) {
+        throw new IllegalArgumentException("Not a tile inside a room: " + at);
+      }
+    }
+  }
+
+  /**
+   * Puts the room and the changed tiles back as writeState wrote them, and any other changed tiles
+   * back as loaded. Listeners hear about each tile that changes, once.
+   *
+   * @param in a state that has passed checkState
+   */
+  void readState(ByteBuffer in) {
+    int room = in.getShort();
+    int count = in.getInt();
+    stale.clear();
+    stale.or(touched);
+    for (int i = 0; i < count; i += 1) {
+      int at = in.getInt();
+      short tileType = in.getShort();
+      writeTile(at / ROOM_SIZE, (at % ROOM_SIZE) / STRIDE - BORDER, at % STRIDE - BORDER, tileType);
+      touched.set(at);
+      stale.clear(at);
+    }
+    for (int at = stale.nextSetBit(0); at >= 0; at = stale.nextSetBit(at + 1)) {
+      writeTile(
+          at / ROOM_SIZE, (at % ROOM_SIZE) / STRIDE - BORDER, at % STRIDE - BORDER, pristine[at]);
+      touched.clear(at);
+    }
+    setRoom(room);
+  }
+
+  /* Returns true if the tile changed */
+  private boolean writeTile(int room, int row, int col, int tileType) {
+    int at = index(room, row, col);
+    if (tiles[at] == tileType) {
+      return false;
+    }
+    tiles[at] = (short) tileType;
+    fillBorder(room, row, col);
+    roomVersions[room] += 1;
+    for (int i = 0; i < listeners.size(); i += 1) {
+      listeners.get(i).tileChanged(room, row, col, tileType);
+    }
+    return true;
+  }
+
+  /**
+   * Clears every tile of a pickup, e.g. when the player touches it. Listeners hear about each cell
+   * that changes, and nothing else in the room is looked at.
+   *
+   * @param group a group from {@link #getCollectibles()}
+   * @return the number of tiles cleared
+   */
+  public int collect(int group) {
+    int room = collectibles.room(group);
+    int changed = 0;
+    for (int i = 0; i < collectibles.size(group); i += 1) {
+      int row = collectibles.row(group, i);
+      int col = collectibles.col(group, i);
+      if (tiles[index(room, row, col)] != TILE_EMPTY) {
+        setTile(room, row, col, TILE_EMPTY);
+        changed += 1;
+      }
+    }
+    return changed;
+  }
+
+  /**
+   * @return the pickups in the map, as found when it was loaded
+   */
+  public Collectibles getCollectibles() {
+    return collectibles;
+  }
+
+  public void addTileListener(TileListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * @param room
+   * @return a counter that changes whenever a tile in the room is changed via setTile
+   */
+  public int getRoomVersion(int room) {
+    return roomVersions[room];
   }
 
   public int getRoom() {
     return roomy * SCREENS_X + roomx;
   }
 
+  /**
+   * Jumps straight to a room, e.g. to visit every room in turn.
+   *
+   * @param room 0 <= room < NUM_SCREENS
+   */
+  public void setRoom(int room) {
+    if (room < 0 || room >= NUM_SCREENS) {
+      throw new IllegalArgumentException("No such room: " + room);
+    }
+    roomx = room % SCREENS_X;
+    roomy = room / SCREENS_X;
+  }
+
   public boolean moveLeft() {
     if (roomx > 0) {
       roomx -= 1;
@@ -162,6 +537,17 @@ public final class Stage implements Renderable {
     return false;
   }
 
+  /**
+   * Animated tiles (hearts, crosses, the door and the bright cross) must be redrawn every frame,
+   * whereas everything else in a room can be drawn once and cached.
+   *
+   * @param tileType
+   * @return true if the tile type animates
+   */
+  public static boolean isAnimatedTile(int tileType) {
+    return TileAnimations.isAnimated(tileType);
+  }
+
   /**
    * @return the size of the tile in display pixel, i.e. as it appears to the player
    */
@@ -206,7 +592,7 @@ public final class Stage implements Renderable {
   }
 
   public Corners getCorners(int x, int y) {
-    var tileType = stagedata[roomy * SCREENS_X + roomx][y][x];
+    var tileType = screens[getRoom()].get(y, x);
     if (cache.containsKey(tileType)) {
       return cache.get(tileType);
     }
@@ -214,9 +600,14 @@ public final class Stage implements Renderable {
     return getCorners(tileType);
   }
 
+  /**
+   * Gets the atlas rectangle of a tile type. For an animated tile this is its first frame, and the
+   * shaders step through the rest - see {@link TileAnimations}.
+   *
+   * @param tileType
+   * @return the texture coords of the tile
+   */
   public Corners getCorners(int tileType) {
-    int[] counter = new int[2];
-
     // When we want to generalize this game, we can move this logic into a separate remapper.
     var srctiles = new SDLRect(0, 0, 8, 8);
     if (tileType == TILE_EMPTY) {
@@ -227,13 +618,11 @@ public final class Stage implements Renderable {
         srctiles.h = 8;
         if (tileType < 101) {
           srctiles.y = 0;
-          if (tileType == TILE_CROSS_BRIGHTNESS) /* Cross brightness */
-            srctiles.x = (tileType - 1) * 8 + (counter[0] / 8 * 8);
-          else srctiles.x = (tileType - 1) * 8;
+          srctiles.x = (tileType - 1) * 8;
         } else {
           if (tileType == TILE_DOOR) {
             /* Door */
-            srctiles.x = 600 + ((counter[0] / 8) * 16);
+            srctiles.x = 600;
             srctiles.y = 0;
             srctiles.w = 16;
             srctiles.h = 24;
@@ -267,14 +656,14 @@ public final class Stage implements Renderable {
       }
       /* Hearts */
       if ((tileType > 399) && (tileType < 405)) {
-        srctiles.x = 96 + ((tileType - 401) * 8) + (32 * (counter[0] / 15));
+        srctiles.x = 96 + ((tileType - 401) * 8);
         srctiles.y = 24;
         srctiles.w = 8;
         srctiles.h = 8;
       }
       /* Crosses */
       if ((tileType > 408) && (tileType < 429)) {
-        srctiles.x = 96 + ((tileType - 401) * 8) + (32 * (counter[1] / 23));
+        srctiles.x = 96 + ((tileType - 401) * 8);
         srctiles.y = 24;
         srctiles.w = 8;
         srctiles.h = 8;
@@ -1,8 +1,6 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.model;
 
-import static abbaye.graphics.GLManager.*;
-
 import abbaye.AbbayeMain;
 import abbaye.Config;
 import abbaye.basic.Corners;
@@ -70,9 +68,14 @@ public class StatusDisplay implements Renderable {
     var corners = stage.getCorners(tileId);
 
     var tileDisplaySize = Stage.getTileSize();
-    var tr = createTranslationMatrix(x * tileDisplaySize, (22 + y) * tileDisplaySize, 0);
-    float[] scale = createScaleMatrix(tileDisplaySize, tileDisplaySize, 1);
-    manager.renderTile(corners, multiplyMatrices(scale, tr));
+    manager
+        .getBatch()
+        .draw(
+            corners,
+            x * tileDisplaySize,
+            (22 + y) * tileDisplaySize,
+            tileDisplaySize,
+            tileDisplaySize);
   }
 
   @Override
@@ -82,7 +85,8 @@ public class StatusDisplay implements Renderable {
     }
 
     // Render the heart and crosses from the primary tilemap
-    manager.bindTexture("tiles");
+    var batch = manager.getBatch();
+    batch.begin("tiles");
     renderStaticTitle(401, 0, 0);
     renderStaticTitle(402, 1, 0);
     renderStaticTitle(403, 0, 1);
@@ -100,8 +104,8 @@ public class StatusDisplay implements Renderable {
     renderStaticTitle(411, 20, 1);
     renderStaticTitle(412, 21, 1);
 
-    // Swap to the font texture
-    manager.bindTexture("fonts");
+    // Swap to the font texture - this flushes the tiles queued so far
+    batch.begin("fonts");
 
     renderText("" + player.getLives(), 2, 0);
     renderText("" + player.getCrosses(), 22, 0);
@@ -109,9 +113,12 @@ public class StatusDisplay implements Renderable {
     // Render room title
     Glyph roomLegend = roomTitles.get(stage.getRoom());
     var tileDisplaySize = Stage.getTileSize();
-    var m1 = createTranslationMatrix(5 * tileDisplaySize, 25 * tileDisplaySize, 0);
-    float[] scale = createScaleMatrix(10 * tileDisplaySize, -tileDisplaySize, 1);
-    manager.renderTile(roomLegend.corners(), multiplyMatrices(scale, m1));
+    batch.draw(
+        roomLegend.corners(),
+        5 * tileDisplaySize,
+        25 * tileDisplaySize,
+        10 * tileDisplaySize,
+        -tileDisplaySize);
 
     return false;
   }
@@ -150,9 +157,9 @@ public class StatusDisplay implements Renderable {
       }
       Glyph g = digitGlyphs.get(ch);
 
-      var m1 = createTranslationMatrix(drawX, 24 * tileDisplaySize, 0);
-      float[] scale = createScaleMatrix(tileDisplaySize, -tileDisplaySize, 1);
-      manager.renderTile(g.corners(), multiplyMatrices(scale, m1));
+      manager
+          .getBatch()
+          .draw(g.corners(), drawX, 24 * tileDisplaySize, tileDisplaySize, -tileDisplaySize);
       //      drawX += g.width();
     }
   }
@@ -0,0 +1,166 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static abbaye.model.TileProperties.*;
+
+import abbaye.basic.BoundingBox2;
+import abbaye.model.Stage.Screen;
+
+/**
+ * Continuous collision of a moving box against the tiles of a room. Rather than testing where the
+ * box ends up, the sweep walks its leading edges along the movement vector one tile boundary at a
+ * time (a DDA over the tile grid), so a long step cannot jump clean over a thin wall or platform.
+ *
+ * <p>Which tiles block depends on the direction of travel, using the same flags as the player's
+ * probes: SOLID_LEFT and SOLID_RIGHT sideways, GROUND when falling and ROOF when rising. Platforms
+ * therefore only block from above, and only once the box's bottom edge crosses their top.
+ */
+public final class SweptCollision {
+
+  /**
+   * Where a sweep stopped.
+   *
+   * @param time fraction of the movement completed before contact, 0 to 1
+   * @param normalX -1, 0 or 1 - the contact normal points back against the movement
+   * @param normalY
+   * @param row the tile that was hit, or -1
+   * @param col
+   */
+  public record Hit(float time, int normalX, int normalY, int row, int col) {
+    public static final Hit NONE = new Hit(1.0f, 0, 0, -1, -1);
+
+    public boolean isHit() {
+      return row >= 0;
+    }
+  }
+
+  // Indices into the contact array
+  public static final int CONTACT_NORMAL_X = 0;
+  public static final int CONTACT_NORMAL_Y = 1;
+  public static final int CONTACT_ROW = 2;
+  public static final int CONTACT_COL = 3;
+  public static final int CONTACT_SIZE = 4;
+
+  private SweptCollision() {}
+
+  /**
+   * @param room tile data, as from Stage.getScreen()
+   * @param box the box at the start of the movement, in pixels
+   * @param dx movement in pixels
+   * @param dy
+   * @return the first blocking tile met, or Hit.NONE
+   */
+  public static Hit sweep(Screen room, BoundingBox2 box, float dx, float dy) {
+    var contact = new int[CONTACT_SIZE];
+    float time =
+        sweep(room, box.left(), box.top(), box.size().x(), box.size().y(), dx, dy, contact);
+    if (contact[CONTACT_ROW] < 0) {
+      return Hit.NONE;
+    }
+    return new Hit(
+        time,
+        contact[CONTACT_NORMAL_X],
+        contact[CONTACT_NORMAL_Y],
+        contact[CONTACT_ROW],
+        contact[CONTACT_COL]);
+  }
+
+  /**
+   * As above, with the box as its top-left corner and size and the contact written to a scratch
+   * array, so that a tick need not allocate.
+   *
+   * @param contact filled with the normal and the tile hit, at the CONTACT_ indices. The row is -1
+   *     if nothing was hit.
+   * @return the time of impact, or 1 if nothing was hit
+   */
+  public static float sweep(
+      Screen room,
+      float left,
+      float top,
+      float width,
+      float height,
+      float dx,
+      float dy,
+      int[] contact) {
+    contact[CONTACT_NORMAL_X] = 0;
+    contact[CONTACT_NORMAL_Y] = 0;
+    contact[CONTACT_ROW] = -1;
+    contact[CONTACT_COL] = -1;
+    float tileSize = Stage.getTileSize();
+    int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+    int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+    // The next column and row the leading edges will enter, and the time they get there
+    int col = 0;
+    float timeX = Float.POSITIVE_INFINITY;
+    if (stepX > 0) {
+      col = (int) Math.ceil((left + width) / tileSize);
+      timeX = (col * tileSize - (left + width)) / dx;
+    } else if (stepX < 0) {
+      col = (int) Math.ceil(left / tileSize) - 1;
+      timeX = ((col + 1) * tileSize - left) / dx;
+    }
+    int row = 0;
+    float timeY = Float.POSITIVE_INFINITY;
+    if (stepY > 0) {
+      row = (int) Math.ceil((top + height) / tileSize);
+      timeY = (row * tileSize - (top + height)) / dy;
+    } else if (stepY < 0) {
+      row = (int) Math.ceil(top / tileSize) - 1;
+      timeY = ((row + 1) * tileSize - top) / dy;
+    }
+
+    while (timeX <= 1.0f || timeY <= 1.0f) {
+      if (timeX <= timeY) {
+        // Entering a new column - test it over the rows the box covers at that moment
+        float y = top + dy * timeX;
+        int fromRow = (int) Math.floor(y / tileSize);
+        int toRow = (int) Math.ceil((y + height) / tileSize) - 1;
+        short flag = stepX > 0 ? SOLID_RIGHT : SOLID_LEFT;
+        for (int r = fromRow; r <= toRow; r += 1) {
+          if (TileProperties.is(tileAt(room, r, col), flag)) {
+            return contact(contact, timeX, -stepX, 0, r, col);
+          }
+        }
+        col += stepX;
+        timeX += tileSize / Math.abs(dx);
+      } else {
+        float x = left + dx * timeY;
+        int fromCol = (int) Math.floor(x / tileSize);
+        int toCol = (int) Math.ceil((x + width) / tileSize) - 1;
+        short flag = stepY > 0 ? GROUND : ROOF;
+        for (int c = fromCol; c <= toCol; c += 1) {
+          if (TileProperties.is(tileAt(room, row, c), flag)) {
+            return contact(contact, timeY, 0, -stepY, row, c);
+          }
+        }
+        row += stepY;
+        timeY += tileSize / Math.abs(dy);
+      }
+    }
+    return 1.0f;
+  }
+
+  ///////////// Helpers
+
+  private static float contact(
+      int[] contact, float time, int normalX, int normalY, int row, int col) {
+    contact[CONTACT_NORMAL_X] = normalX;
+    contact[CONTACT_NORMAL_Y] = normalY;
+    contact[CONTACT_ROW] = row;
+    contact[CONTACT_COL] = col;
+    return time;
+  }
+
+  /*
+   * Off the edge of the room is open - leaving it is a room change, not a collision. The screen's
+   * border repeats the edge tiles, so it cannot be used here.
+   */
+  private static int tileAt(Screen room, int row, int col) {
+    if (row < 0 || row >= NUM_ROWS || col < 0 || col >= NUM_COLUMNS) {
+      return TILE_EMPTY;
+    }
+    return room.get(row, col);
+  }
+}
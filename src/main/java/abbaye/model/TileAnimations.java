@@ -0,0 +1,97 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+
+/**
+ * The animated tile types. Each animation is a strip of frames laid side by side in the atlas,
+ * starting at the rectangle {@link Stage#getCorners(int)} returns for the tile. The shaders pick
+ * the frame from the elapsed time, so animated tiles cost nothing on the CPU and never invalidate
+ * cached room geometry.
+ *
+ * <p>Index 0 is reserved for "not animated", so an animation index can go straight into a vertex.
+ */
+public final class TileAnimations {
+  /** Size of the animation table in the shaders, including the unused entry 0 */
+  public static final int MAX_ANIMATIONS = 8;
+
+  /* The original game advanced its animation counters once per frame at this rate */
+  static final float TICKS_PER_SECOND = 60.0f;
+
+  /**
+   * @param frames number of frames in the strip
+   * @param stridePixels horizontal distance between frames in the atlas, in atlas pixels
+   * @param periodTicks how long each frame is shown, in ticks of the original game loop
+   */
+  public record TileAnimation(int frames, int stridePixels, int periodTicks) {
+    /**
+     * @return the distance between frames in texture coordinates
+     */
+    public float strideU() {
+      return (float) stridePixels / (8 * TILES_PER_ROW);
+    }
+
+    public float periodSeconds() {
+      return periodTicks / TICKS_PER_SECOND;
+    }
+  }
+
+  private static final TileAnimation[] animations = new TileAnimation[MAX_ANIMATIONS];
+  private static final byte[] byTileType = new byte[TILE_TYPES];
+  private static int count = 1;
+
+  static {
+    animations[0] = new TileAnimation(1, 0, 1);
+
+    // Strips as read by the original getCorners() from its counters
+    register(new TileAnimation(4, 8, 8), TILE_CROSS_BRIGHTNESS, TILE_CROSS_BRIGHTNESS);
+    register(new TileAnimation(4, 16, 8), TILE_DOOR, TILE_DOOR);
+    register(new TileAnimation(2, 32, 15), 401, 404); // Hearts
+    register(new TileAnimation(2, 32, 23), 409, 428); // Crosses, to pick up and scenery
+  }
+
+  private TileAnimations() {}
+
+  /**
+   * @param tileType
+   * @return the animation index of the tile type, or 0 if it does not animate
+   */
+  public static int of(int tileType) {
+    if (tileType < 0 || tileType >= TILE_TYPES) {
+      return 0;
+    }
+    return byTileType[tileType];
+  }
+
+  public static boolean isAnimated(int tileType) {
+    return of(tileType) != 0;
+  }
+
+  /**
+   * @param index an animation index, 0 <= index < {@link #count()}
+   * @return the animation
+   */
+  public static TileAnimation get(int index) {
+    return animations[index];
+  }
+
+  /**
+   * @return the number of entries in the table, including entry 0
+   */
+  public static int count() {
+    return count;
+  }
+
+  ///////////// Helpers
+
+  private static void register(TileAnimation animation, int firstTile, int lastTile) {
+    if (count == MAX_ANIMATIONS) {
+      throw new IllegalStateException("Too many tile animations, raise MAX_ANIMATIONS");
+    }
+    animations[count] = animation;
+    for (int tileType = firstTile; tileType <= lastTile; tileType += 1) {
+      byTileType[tileType] = (byte) count;
+    }
+    count += 1;
+  }
+}
@@ -0,0 +1,106 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+
+/**
+ * What each tile type does to the player, as bit flags built once from the tile numbering. Every
+ * collision and pickup test in the player tick is then a single array load and bit test, instead of
+ * a chain of range comparisons.
+ */
+public final class TileProperties {
+  /** Blocks the player when walking left into it */
+  public static final short SOLID_LEFT = 1;
+
+  /** Blocks the player when walking right into it */
+  public static final short SOLID_RIGHT = 1 << 1;
+
+  /** Can be stood on */
+  public static final short GROUND = 1 << 2;
+
+  /** Stops a jump */
+  public static final short ROOF = 1 << 3;
+
+  /** A narrow platform the player can fall off the edge of */
+  public static final short PLATFORM = 1 << 4;
+
+  /** Kills on touch */
+  public static final short HAZARD = 1 << 5;
+
+  /** Pickups */
+  public static final short HEART = 1 << 6;
+
+  public static final short CROSS = 1 << 7;
+  public static final short WAYPOINT = 1 << 8;
+
+  /* The roof check covers the first few bedrock and topsoil tiles as well as the solid range */
+  static final int ROOF_MAX = 105;
+
+  private static final short[] FLAGS = build();
+
+  private TileProperties() {}
+
+  /**
+   * @param tileType
+   * @param flag one or more of the flags above
+   * @return true if the tile type has any of the flags
+   */
+  public static boolean is(int tileType, short flag) {
+    return tileType >= 0 && tileType < TILE_TYPES && (FLAGS[tileType] & flag) != 0;
+  }
+
+  /**
+   * @param tileType
+   * @return all flags of the tile type
+   */
+  public static short flags(int tileType) {
+    if (tileType < 0 || tileType >= TILE_TYPES) {
+      return 0;
+    }
+    return FLAGS[tileType];
+  }
+
+  ///////////// Helpers
+
+  private static short[] build() {
+    var flags = new short[TILE_TYPES];
+    for (int tile = 1; tile < TILE_TYPES; tile += 1) {
+      int f = 0;
+      boolean solid = tile < TILE_SOLID_MAX;
+      boolean passable = tile == TILE_PASSABLE || tile == TILE_PASSABLE_VARIANT_1;
+
+      if ((solid && !passable)
+          || tile == TILE_SPECIAL_COLLISION
+          || (tile > TILE_SPECIAL_LEFT_MIN && tile < TILE_SPECIAL_LEFT_MAX)) {
+        f |= SOLID_LEFT;
+      }
+      if ((solid && !passable)
+          || (tile > TILE_SPECIAL_RIGHT_MIN && tile < TILE_SPECIAL_RIGHT_MAX)) {
+        f |= SOLID_RIGHT;
+      }
+      if (solid && tile != TILE_PASSABLE_VARIANT_1) {
+        f |= GROUND;
+      }
+      if (tile < ROOF_MAX && !passable && tile != TILE_PLATFORM) {
+        f |= ROOF;
+      }
+      if (tile == TILE_PLATFORM) {
+        f |= PLATFORM;
+      }
+      if (tile == TILE_STATIC_HAZARD) {
+        f |= HAZARD;
+      }
+      if (tile > 400 && tile < 405) {
+        f |= HEART;
+      }
+      if (tile > 408 && tile < 413) {
+        f |= CROSS;
+      }
+      if (tile > 320 && tile < 327) {
+        f |= WAYPOINT;
+      }
+      flags[tile] = (short) f;
+    }
+    return flags;
+  }
+}
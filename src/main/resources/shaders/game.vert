@@ -1,13 +1,26 @@
 #version 330 core
 layout (location = 0) in vec3 aPos;
 layout (location = 1) in vec2 aTexCoord;
+layout (location = 2) in float aAnimation;
 
 uniform mat4 projection;
 uniform mat4 model;
 
+// Seconds since the game started
+uniform float time;
+// Frame count, atlas stride (u) and seconds per frame of each tile animation. Entry 0 is unused.
+uniform vec3 animations[8];
+
 out vec2 TexCoord;
 
 void main() {
     gl_Position = projection * model * vec4(aPos, 1.0);
     TexCoord = aTexCoord;
-}
\ No newline at end of file
+
+    int animation = int(aAnimation + 0.5);
+    if (animation > 0) {
+        vec3 strip = animations[animation];
+        float frame = mod(floor(time / strip.z), strip.x);
+        TexCoord.x += frame * strip.y;
+    }
+}
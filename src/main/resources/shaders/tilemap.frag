@@ -0,0 +1,31 @@
+#version 330 core
+out vec4 FragColor;
+
+// Position within the room, in tiles
+in vec2 TexCoord;
+
+uniform sampler2D ourTexture;
+// Tile type of each cell of the room (NUM_COLUMNS x NUM_ROWS)
+uniform usampler2D tileIds;
+// Row 0: atlas rectangle (u1, v1, u2, v2) for each tile type
+// Row 1: frame count, atlas stride (u) and seconds per frame, if the tile type animates
+uniform sampler2D tileCorners;
+// Seconds since the game started
+uniform float time;
+
+void main() {
+      ivec2 cell = ivec2(floor(TexCoord));
+      uint tileType = texelFetch(tileIds, cell, 0).r;
+      vec4 corners = texelFetch(tileCorners, ivec2(int(tileType), 0), 0);
+
+      vec2 inTile = fract(TexCoord);
+      vec2 uv = vec2(mix(corners.x, corners.z, inTile.x), mix(corners.y, corners.w, inTile.y));
+
+      vec4 strip = texelFetch(tileCorners, ivec2(int(tileType), 1), 0);
+      if (strip.x > 1.0) {
+          uv.x += mod(floor(time / strip.z), strip.x) * strip.y;
+      }
+
+      FragColor = texture(ourTexture, uv);
+      if(FragColor.a < 0.1) discard;
+}
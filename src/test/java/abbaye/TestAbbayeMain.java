@@ -0,0 +1,42 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import abbaye.SimulationRunner.InputEvent;
+import abbaye.model.RewindBuffer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TestAbbayeMain {
+
+  @Test
+  public void testRewindStepsBackFurtherEachPress() {
+    var runner = SimulationRunner.of();
+    var rewind = RewindBuffer.of(runner.getSnapshot(), 600);
+    var xs = new float[300];
+    runner.run(1, List.of(InputEvent.parse("0 RIGHT PRESS")));
+
+    // As the game loop does - run a tick, record it, move on to the next
+    long tick = 0;
+    rewind.record(tick);
+    xs[0] = runner.getPlayer().getPos().x();
+    for (tick = 1; tick < xs.length; tick += 1) {
+      runner.run(1, List.of());
+      rewind.record(tick);
+      xs[(int) tick] = runner.getPlayer().getPos().x();
+    }
+
+    tick = AbbayeMain.rewindStep(rewind, tick);
+    assertEquals(xs.length - AbbayeMain.REWIND_STEP_TICKS, tick);
+    tick = AbbayeMain.rewindStep(rewind, tick);
+    assertEquals(xs.length - 2 * AbbayeMain.REWIND_STEP_TICKS, tick);
+    assertEquals(xs[(int) tick - 1], runner.getPlayer().getPos().x());
+  }
+
+  @Test
+  public void testRewindStepWithNothingRecorded() {
+    var rewind = RewindBuffer.of(SimulationRunner.of().getSnapshot(), 600);
+    assertEquals(42, AbbayeMain.rewindStep(rewind, 42));
+  }
+}
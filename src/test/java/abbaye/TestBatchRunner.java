@@ -0,0 +1,82 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.BatchRunner.Outcome;
+import abbaye.BatchRunner.Session;
+import abbaye.SimulationRunner.InputEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestBatchRunner {
+
+  @Test
+  public void testParallelMatchesSequential() {
+    var sessions = new ArrayList<Session>();
+    for (int i = 0; i < 12; i += 1) {
+      // Vary how long the player walks right before turning back, so the sessions all end apart
+      var script =
+          List.of(
+              new InputEvent(0, GLFW_KEY_RIGHT, GLFW_PRESS),
+              new InputEvent(40 + 25 * i, GLFW_KEY_UP, GLFW_PRESS),
+              new InputEvent(60 + 25 * i, GLFW_KEY_UP, GLFW_RELEASE),
+              new InputEvent(100 + 25 * i, GLFW_KEY_RIGHT, GLFW_RELEASE),
+              new InputEvent(100 + 25 * i, GLFW_KEY_LEFT, GLFW_PRESS));
+      sessions.add(new Session("s" + i, 1500, script));
+    }
+
+    var batch = BatchRunner.of(Config.config());
+    var parallel = batch.run(sessions, 4);
+    assertEquals(sessions.size(), parallel.size());
+    for (int i = 0; i < sessions.size(); i += 1) {
+      assertSameState(batch.runOne(sessions.get(i)), parallel.get(i));
+    }
+  }
+
+  @Test
+  public void testReadSessions(@TempDir Path dir) throws IOException {
+    try (var recorder = new InputRecorder(Files.newOutputStream(dir.resolve("a.abin")))) {
+      recorder.record(GLFW_KEY_RIGHT, GLFW_PRESS);
+      for (int t = 0; t < 120; t += 1) {
+        recorder.tick();
+      }
+      recorder.record(GLFW_KEY_RIGHT, GLFW_RELEASE);
+    }
+    Files.writeString(dir.resolve("notes.txt"), "not a recording");
+
+    var sessions = BatchRunner.readSessions(dir);
+    assertEquals(1, sessions.size());
+    assertEquals("a.abin", sessions.get(0).name());
+    assertEquals(120 + BatchRunner.TAIL_TICKS, sessions.get(0).ticks());
+    assertEquals(2, sessions.get(0).script().size());
+  }
+
+  @Test
+  public void testContextCountsTicks() {
+    var context = GameContext.of(Config.config().copy());
+    var runner = SimulationRunner.of(context, "/map/map.txt");
+    runner.run(240, List.of());
+    assertEquals(240, context.getTick());
+    assertEquals(4.0, context.getSeconds(), 1e-9);
+  }
+
+  ///////////// Helpers
+
+  private static void assertSameState(Outcome expected, Outcome actual) {
+    assertEquals(expected.name(), actual.name());
+    var e = expected.result();
+    var a = actual.result();
+    assertEquals(e.room(), a.room(), expected.name());
+    assertEquals(e.x(), a.x(), expected.name());
+    assertEquals(e.y(), a.y(), expected.name());
+    assertEquals(e.lives(), a.lives(), expected.name());
+    assertEquals(e.crosses(), a.crosses(), expected.name());
+  }
+}
@@ -0,0 +1,130 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.SimulationRunner.InputEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TestInputRecorder {
+  private static final int HEADER_BYTES = InputRecorder.MAGIC.length + 1;
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var recorder = new InputRecorder(bytes)) {
+      recorder.record(GLFW_KEY_RIGHT, GLFW_PRESS);
+      runTicks(recorder, 90);
+      recorder.record(GLFW_KEY_UP, GLFW_PRESS);
+      // Repeats and keys that never reach the player are not recorded
+      recorder.record(GLFW_KEY_UP, GLFW_REPEAT);
+      recorder.record(GLFW_KEY_TAB, GLFW_RELEASE);
+      runTicks(recorder, 20_000);
+      recorder.record(GLFW_KEY_UP, GLFW_RELEASE);
+      recorder.record(GLFW_KEY_DOWN, GLFW_PRESS);
+      assertEquals(4, recorder.getEvents());
+    }
+
+    // Tick deltas under 128 fit in one byte, 20000 needs three
+    assertEquals(HEADER_BYTES + 2 + 2 + 4 + 2, bytes.size());
+
+    var replayer = InputReplayer.of(new ByteArrayInputStream(bytes.toByteArray()));
+    assertEquals(
+        List.of(
+            new InputEvent(0, GLFW_KEY_RIGHT, GLFW_PRESS),
+            new InputEvent(90, GLFW_KEY_UP, GLFW_PRESS),
+            new InputEvent(20_090, GLFW_KEY_UP, GLFW_RELEASE),
+            new InputEvent(20_090, GLFW_KEY_DOWN, GLFW_PRESS)),
+        replayer.events());
+    assertEquals(20_090, replayer.lastTick());
+  }
+
+  @Test
+  public void testFeedDeliversByTick() throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var recorder = new InputRecorder(bytes)) {
+      runTicks(recorder, 5);
+      recorder.record(GLFW_KEY_LEFT, GLFW_PRESS);
+      runTicks(recorder, 5);
+      recorder.record(GLFW_KEY_LEFT, GLFW_RELEASE);
+    }
+    var replayer = InputReplayer.of(new ByteArrayInputStream(bytes.toByteArray()));
+
+    var delivered = new ArrayList<Long>();
+    for (long tick = 0; tick < 20; tick += 1) {
+      final var now = tick;
+      replayer.feed(tick, (w, key, scancode, action, mods) -> delivered.add(now));
+    }
+    assertEquals(List.of(5L, 10L), delivered);
+    assertTrue(replayer.isFinished());
+  }
+
+  @Test
+  public void testReplayMatchesLiveRun() throws IOException {
+    var script =
+        List.of(
+            new InputEvent(0, GLFW_KEY_RIGHT, GLFW_PRESS),
+            new InputEvent(80, GLFW_KEY_UP, GLFW_PRESS),
+            new InputEvent(100, GLFW_KEY_UP, GLFW_RELEASE),
+            new InputEvent(400, GLFW_KEY_RIGHT, GLFW_RELEASE));
+
+    // Record the script as if it came from the keyboard, one tick at a time
+    var bytes = new ByteArrayOutputStream();
+    try (var recorder = new InputRecorder(bytes)) {
+      var keys = recorder.wrap((w, key, scancode, action, mods) -> {});
+      int next = 0;
+      for (int tick = 0; tick < 500; tick += 1) {
+        while (next < script.size() && script.get(next).tick() == tick) {
+          keys.invoke(0L, script.get(next).key(), 0, script.get(next).action(), 0);
+          next += 1;
+        }
+        recorder.tick();
+      }
+    }
+    var replayed = InputReplayer.of(new ByteArrayInputStream(bytes.toByteArray())).events();
+    assertEquals(script, replayed);
+
+    var live = SimulationRunner.of().run(1000, script);
+    var replay = SimulationRunner.of().run(1000, replayed);
+    assertEquals(live.room(), replay.room());
+    assertEquals(live.x(), replay.x());
+    assertEquals(live.y(), replay.y());
+  }
+
+  @Test
+  public void testRejectsOtherFiles() {
+    var notARecording = new ByteArrayInputStream("0 RIGHT PRESS\n".getBytes());
+    assertThrows(IOException.class, () -> InputReplayer.of(notARecording));
+  }
+
+  @Test
+  public void testRejectsMalformedEvents() {
+    var header = new ByteArrayOutputStream();
+    header.writeBytes(InputRecorder.MAGIC);
+    header.write(InputRecorder.VERSION);
+
+    // A tick delta with no event after it
+    var truncated = Arrays.copyOf(header.toByteArray(), header.size() + 1);
+    assertThrows(IOException.class, () -> InputReplayer.of(new ByteArrayInputStream(truncated)));
+
+    // An event for a key that is not recorded
+    var badKey = Arrays.copyOf(header.toByteArray(), header.size() + 2);
+    badKey[header.size() + 1] = (byte) (InputRecorder.KEYS.length << 1);
+    assertThrows(IOException.class, () -> InputReplayer.of(new ByteArrayInputStream(badKey)));
+  }
+
+  ///////////// Helpers
+
+  private static void runTicks(InputRecorder recorder, int ticks) {
+    for (int i = 0; i < ticks; i += 1) {
+      recorder.tick();
+    }
+  }
+}
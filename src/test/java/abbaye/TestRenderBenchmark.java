@@ -0,0 +1,28 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class TestRenderBenchmark {
+
+  @Test
+  public void testPercentile() {
+    long[] sorted = new long[100];
+    for (int i = 0; i < sorted.length; i += 1) {
+      sorted[i] = i + 1;
+    }
+    assertEquals(50, RenderBenchmark.percentile(sorted, 50));
+    assertEquals(99, RenderBenchmark.percentile(sorted, 99));
+    assertEquals(7, RenderBenchmark.percentile(new long[] {7}, 99));
+  }
+
+  @Test
+  public void testCsvMatchesHeader() {
+    var result = new RenderBenchmark.RoomResult(3, 120, 1.5, 1.25, 4.0, 3, 12, 6, 3);
+    var columns = RenderBenchmark.RoomResult.CSV_HEADER.split(",").length;
+    assertEquals(columns, result.toCsv().split(",").length);
+    assertEquals("3", result.toCsv().split(",")[0]);
+  }
+}
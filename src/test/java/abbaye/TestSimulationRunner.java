@@ -0,0 +1,56 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.SimulationRunner.InputEvent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TestSimulationRunner {
+  private static final List<InputEvent> WALK_AND_JUMP =
+      List.of(
+          InputEvent.parse("0 RIGHT PRESS"),
+          InputEvent.parse("90 UP PRESS"),
+          InputEvent.parse("110 UP RELEASE"),
+          InputEvent.parse("300 RIGHT RELEASE"),
+          InputEvent.parse("300 LEFT PRESS"));
+
+  @Test
+  public void testParse() {
+    assertEquals(
+        new InputEvent(120, GLFW_KEY_RIGHT, GLFW_PRESS), InputEvent.parse("120 RIGHT PRESS"));
+    assertEquals(new InputEvent(0, GLFW_KEY_UP, GLFW_RELEASE), InputEvent.parse(" 0  UP RELEASE "));
+    assertThrows(IllegalArgumentException.class, () -> InputEvent.parse("1 ESCAPE PRESS"));
+    assertThrows(IllegalArgumentException.class, () -> InputEvent.parse("1 LEFT"));
+  }
+
+  @Test
+  public void testRunsRequestedTicks() {
+    var runner = SimulationRunner.of();
+    var result = runner.run(1000, WALK_AND_JUMP);
+    assertEquals(1000, result.ticks());
+    assertTrue(result.ticksPerSecond() > 0);
+
+    runner.run(500, List.of());
+    assertEquals(1500, runner.getTick());
+  }
+
+  @Test
+  public void testDeterministic() {
+    var first = SimulationRunner.of().run(2000, WALK_AND_JUMP);
+    var second = SimulationRunner.of().run(2000, WALK_AND_JUMP);
+    assertEquals(first.room(), second.room());
+    assertEquals(first.x(), second.x());
+    assertEquals(first.y(), second.y());
+    assertEquals(first.lives(), second.lives());
+  }
+
+  @Test
+  public void testInputMovesPlayer() {
+    var idle = SimulationRunner.of().run(300, List.of());
+    var walked = SimulationRunner.of().run(300, List.of(InputEvent.parse("0 RIGHT PRESS")));
+    assertNotEquals(idle.x(), walked.x());
+  }
+}
@@ -0,0 +1,164 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import abbaye.SimulationRunner.InputEvent;
+import abbaye.basic.Actor;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TestSnapshot {
+  private static final List<InputEvent> WALK_AND_JUMP =
+      List.of(
+          InputEvent.parse("0 RIGHT PRESS"),
+          InputEvent.parse("90 UP PRESS"),
+          InputEvent.parse("110 UP RELEASE"),
+          InputEvent.parse("300 RIGHT RELEASE"));
+  private static final List<InputEvent> BACK_AND_JUMP =
+      List.of(
+          InputEvent.parse("0 LEFT PRESS"),
+          InputEvent.parse("40 UP PRESS"),
+          InputEvent.parse("60 UP RELEASE"),
+          InputEvent.parse("200 LEFT RELEASE"));
+
+  @Test
+  public void testRestoreRunsOnTheSame() {
+    var runner = SimulationRunner.of();
+    runner.run(400, WALK_AND_JUMP);
+    var saved = copy(runner.getSnapshot().take(runner.getTick()));
+
+    var first = runner.run(600, BACK_AND_JUMP);
+    assertEquals(400, runner.getSnapshot().restore(saved));
+    var second = runner.run(600, BACK_AND_JUMP);
+
+    assertEquals(first.room(), second.room());
+    assertEquals(first.x(), second.x());
+    assertEquals(first.y(), second.y());
+    assertEquals(first.lives(), second.lives());
+    assertEquals(first.crosses(), second.crosses());
+  }
+
+  @Test
+  public void testRestoresChangedTiles() {
+    var runner = SimulationRunner.of();
+    var stage = runner.getStage();
+    int kept = stage.getScreen(0).get(3, 4);
+    int reverted = stage.getScreen(1).get(5, 6);
+    stage.setTile(0, 3, 4, kept + 1);
+    var saved = copy(runner.getSnapshot().take(0));
+
+    stage.setTile(0, 3, 4, kept + 2);
+    stage.setTile(1, 5, 6, reverted + 1);
+    stage.setRoom(7);
+    runner.getSnapshot().restore(saved);
+
+    assertEquals(kept + 1, stage.getScreen(0).get(3, 4));
+    assertEquals(reverted, stage.getScreen(1).get(5, 6));
+    assertEquals(2, stage.getRoom());
+  }
+
+  @Test
+  public void testRejectsOtherData() {
+    var snapshot = SimulationRunner.of().getSnapshot();
+    assertThrows(IllegalArgumentException.class, () -> snapshot.restore(ByteBuffer.allocate(64)));
+
+    var saved = copy(snapshot.take(0));
+    saved.putShort(4, (short) 99);
+    assertThrows(IllegalArgumentException.class, () -> snapshot.restore(saved));
+  }
+
+  @Test
+  public void testRejectedSnapshotChangesNothing() {
+    var runner = SimulationRunner.of();
+    var snapshot = runner.getSnapshot();
+    var stage = runner.getStage();
+    runner.run(400, WALK_AND_JUMP);
+    stage.setTile(0, 3, 4, stage.getScreen(0).get(3, 4) + 1);
+    var saved = copy(snapshot.take(runner.getTick()));
+    runner.run(200, BACK_AND_JUMP);
+    stage.setTile(1, 5, 6, stage.getScreen(1).get(5, 6) + 1);
+    var now = copy(snapshot.take(runner.getTick()));
+
+    var truncated = copy(saved).limit(saved.limit() - 1);
+    assertThrows(IllegalArgumentException.class, () -> snapshot.restore(truncated));
+    assertEquals(0, truncated.position());
+    assertEquals(now, copy(snapshot.take(runner.getTick())));
+
+    // The last changed tile comes just before the enemies, at 16 bytes each
+    var corrupt = copy(saved).order(ByteOrder.LITTLE_ENDIAN);
+    int enemies = corrupt.getInt(16);
+    corrupt.putInt(corrupt.limit() - 16 * enemies - Short.BYTES - Integer.BYTES, Integer.MAX_VALUE);
+    assertThrows(IllegalArgumentException.class, () -> snapshot.restore(corrupt));
+    assertEquals(0, corrupt.position());
+    assertEquals(now, copy(snapshot.take(runner.getTick())));
+  }
+
+  @Test
+  public void testTakeAllocatesNothing() {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    var runner = SimulationRunner.of();
+    runner.run(400, WALK_AND_JUMP);
+    var snapshot = runner.getSnapshot();
+    for (int i = 0; i < 20_000; i += 1) {
+      snapshot.take(i);
+    }
+
+    long overhead = -threads.getCurrentThreadAllocatedBytes();
+    overhead += threads.getCurrentThreadAllocatedBytes();
+    long allocated = Long.MAX_VALUE;
+    for (int round = 0; round < 5 && allocated > 0; round += 1) {
+      long before = threads.getCurrentThreadAllocatedBytes();
+      for (int i = 0; i < 1000; i += 1) {
+        snapshot.take(i);
+      }
+      allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before - overhead);
+    }
+    assertEquals(0, allocated, "Bytes allocated over 1000 snapshots");
+  }
+
+  @Test
+  public void testJson() throws Exception {
+    var runner = SimulationRunner.of();
+    runner.run(200, WALK_AND_JUMP);
+    runner.getStage().setTile(3, 2, 1, 42);
+
+    var mapper = AbbayeMain.getMapper();
+    var out = new StringWriter();
+    try (var generator = mapper.getFactory().createGenerator(out)) {
+      runner.getSnapshot().writeJson(generator, runner.getTick());
+    }
+    var json = mapper.readTree(out.toString());
+
+    assertEquals(200, json.get("tick").asLong());
+    assertEquals(runner.getPlayer().getLives(), json.get("player").get("lives").asInt());
+    assertEquals(runner.getPlayer().getPos().x(), json.get("player").get("x").floatValue());
+    assertTrue(json.get("player").get("waypoint").has("roomX"));
+    var changed = json.get("stage").get("changed");
+    assertEquals(1, changed.size());
+    assertEquals(3, changed.get(0).get("room").asInt());
+    assertEquals(2, changed.get(0).get("row").asInt());
+    assertEquals(1, changed.get(0).get("col").asInt());
+    assertEquals(42, changed.get(0).get("tile").asInt());
+    assertTrue(json.get("enemies").size() > 0);
+
+    assertEquals(
+        runner.getPlayer().getCrosses(),
+        mapper.readTree(Actor.toJSon(runner.getPlayer())).get("crosses").asInt());
+  }
+
+  ///////////// Helpers
+
+  /* The snapshot's own buffer is overwritten by the next one */
+  private static ByteBuffer copy(ByteBuffer snapshot) {
+    return ByteBuffer.allocate(snapshot.remaining()).put(snapshot.duplicate()).flip();
+  }
+}
@@ -0,0 +1,52 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.basic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestClock {
+
+  @BeforeEach
+  public void reset() {
+    Clock.resetTicks();
+  }
+
+  @Test
+  public void testTickRateIndependentOfFrameRate() {
+    // One second at 144 Hz and one second at 30 Hz both run 60 ticks
+    assertEquals(60, runFrames(144));
+    Clock.resetTicks();
+    assertEquals(60, runFrames(30));
+  }
+
+  @Test
+  public void testRemainderCarriesOver() {
+    Clock.setFrameInterval(Clock.TICK_MILLIS * 0.75);
+    assertEquals(0, Clock.consumeTicks());
+    assertEquals(0.75f, Clock.getInterpolationAlpha(), 0.0001f);
+
+    assertEquals(1, Clock.consumeTicks());
+    assertEquals(0.5f, Clock.getInterpolationAlpha(), 0.0001f);
+  }
+
+  @Test
+  public void testCatchUpIsCapped() {
+    Clock.setFrameInterval(1000.0);
+    assertEquals(Clock.MAX_TICKS_PER_FRAME, Clock.consumeTicks());
+    assertEquals(0.0f, Clock.getInterpolationAlpha());
+  }
+
+  ///////////// Helpers
+
+  private static int runFrames(int hz) {
+    Clock.setFrameInterval(1000.0 / hz);
+    int ticks = 0;
+    for (int frame = 0; frame < hz; frame += 1) {
+      ticks += Clock.consumeTicks();
+    }
+    // Allow for the last tick being a rounding error short
+    return ticks + Math.round(Clock.getInterpolationAlpha());
+  }
+}
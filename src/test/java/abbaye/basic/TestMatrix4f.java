@@ -0,0 +1,61 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.basic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.FloatBuffer;
+import org.junit.jupiter.api.Test;
+
+public class TestMatrix4f {
+
+  @Test
+  public void testTranslateThenScale() {
+    var m = new Matrix4f().translate(0.6f, 0.4f, 0).scale(0.7f, 0.7f, 1);
+
+    float[] expected = {0.7f, 0, 0, 0, 0, 0.7f, 0, 0, 0, 0, 1, 0, 0.6f, 0.4f, 0, 1};
+    assertArrayEquals(expected, m.get(new float[16]));
+  }
+
+  @Test
+  public void testMulMatchesChainedOps() {
+    var translate = new Matrix4f().translate(3, 5, 0);
+    var scale = new Matrix4f().scale(2, 4, 1);
+    var product = new Matrix4f().set(translate).mul(scale);
+
+    var chained = new Matrix4f().translate(3, 5, 0).scale(2, 4, 1);
+    assertArrayEquals(chained.get(new float[16]), product.get(new float[16]));
+  }
+
+  @Test
+  public void testMulBySelf() {
+    var m = new Matrix4f().translate(3, 5, 0).scale(2, 4, 1);
+    var copy = new Matrix4f().set(m);
+    var expected = new Matrix4f().set(m).mul(copy);
+
+    assertArrayEquals(expected.get(new float[16]), m.mul(m).get(new float[16]));
+  }
+
+  @Test
+  public void testOrtho() {
+    var m = new Matrix4f().ortho(0, 2048, 1408, 0, -1, 1);
+
+    // Top left of the window goes to (-1, 1), bottom right to (1, -1)
+    assertEquals(-1.0f, m.get(3, 0), 0.0001f);
+    assertEquals(1.0f, m.get(3, 1), 0.0001f);
+    assertEquals(1.0f, 2048 * m.get(0, 0) + m.get(3, 0), 0.0001f);
+    assertEquals(-1.0f, 1408 * m.get(1, 1) + m.get(3, 1), 0.0001f);
+  }
+
+  @Test
+  public void testBufferPositionUnchanged() {
+    var buffer = FloatBuffer.allocate(16);
+    new Matrix4f().scale(2, 3, 4).get(buffer);
+
+    assertEquals(0, buffer.position());
+    assertEquals(2.0f, buffer.get(0));
+    assertEquals(3.0f, buffer.get(5));
+    assertEquals(4.0f, buffer.get(10));
+    assertEquals(1.0f, buffer.get(15));
+  }
+}
@@ -1,4 +1,4 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.graphics;
 
 import static abbaye.graphics.GLManager.*;
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
 import abbaye.AbbayeMain;
 import abbaye.Config;
+import abbaye.basic.Matrix4f;
 import org.junit.jupiter.api.Test;
 
 public class TestGLManager {
@@ -21,10 +22,8 @@ public class TestGLManager {
 
     float[] testModel = {tileSize, 0, 0, 0, 0, tileSize, 0, 0, 0, 0, 1, 0, x, y, Z_ZERO, 1};
 
-    float[] translateModel = createTranslationMatrix(x, y, 0);
-    float[] scaleModel = createScaleMatrix(tileSize, tileSize, 1);
-    float[] finalModel = multiplyMatrices(scaleModel, translateModel);
+    var finalModel = new Matrix4f().translate(x, y, 0).scale(tileSize, tileSize, 1);
 
-    assertArrayEquals(testModel, finalModel);
+    assertArrayEquals(testModel, finalModel.get(new float[16]));
   }
 }
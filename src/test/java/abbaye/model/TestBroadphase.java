@@ -0,0 +1,161 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import abbaye.AbbayeMain;
+import abbaye.basic.Actor;
+import abbaye.basic.Vector2;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestBroadphase {
+  private static final int SIZE = 8;
+  private static final int ROOM = 0;
+
+  @BeforeAll
+  public static void setUpBeforeClass() {
+    AbbayeMain.setGlEnabled(false);
+  }
+
+  @Test
+  public void testMatchesBruteForce() {
+    var random = new Random(42);
+    var broadphase = new Broadphase();
+    var manager = new EnemyManager(60);
+    var enemies = new ArrayList<Enemy>();
+    for (int i = 0; i < 60; i += 1) {
+      var enemy = spawn(manager, randomPos(random));
+      enemies.add(enemy);
+      broadphase.add(enemy);
+    }
+
+    for (int step = 0; step < 10; step += 1) {
+      assertEquals(bruteForce(enemies), found(broadphase), "step " + step);
+      // Move a few, some only a little, and re-bucket them
+      for (int i = 0; i < enemies.size(); i += 3) {
+        var enemy = enemies.get(i);
+        enemy.setPos(
+            step % 2 == 0
+                ? randomPos(random)
+                : new Vector2(enemy.getPos().x() + 5, enemy.getPos().y() + 5));
+        broadphase.update(enemy);
+      }
+    }
+  }
+
+  @Test
+  public void testPairReportedOnce() {
+    var broadphase = new Broadphase();
+    var manager = new EnemyManager(2);
+    // Both cover the same four cells
+    var first = spawn(manager, new Vector2(100, 100));
+    var second = spawn(manager, new Vector2(110, 110));
+    broadphase.add(first);
+    broadphase.add(second);
+    assertEquals(1, found(broadphase).size());
+  }
+
+  @Test
+  public void testSparseActorsAreNotAllTested() {
+    var broadphase = new Broadphase();
+    var manager = new EnemyManager(NUM_COLUMNS * NUM_ROWS);
+    float tileSize = getTileSize();
+    int count = 0;
+    for (int row = 0; row < NUM_ROWS; row += 3) {
+      for (int col = 0; col < NUM_COLUMNS; col += 3) {
+        broadphase.add(spawn(manager, new Vector2(col * tileSize + 1, row * tileSize + 1)));
+        count += 1;
+      }
+    }
+    assertTrue(found(broadphase).isEmpty());
+    assertEquals(0, broadphase.getPairTests());
+    assertTrue(count * (count - 1) / 2 > 1000);
+  }
+
+  @Test
+  public void testRemove() {
+    var broadphase = new Broadphase();
+    var manager = new EnemyManager(3);
+    var first = spawn(manager, new Vector2(100, 100));
+    var second = spawn(manager, new Vector2(110, 110));
+    broadphase.add(first);
+    broadphase.add(second);
+    assertTrue(broadphase.overlapsAny(first));
+
+    broadphase.remove(second);
+    assertFalse(broadphase.overlapsAny(first));
+    assertEquals(1, broadphase.size());
+
+    // The freed slot is reused
+    broadphase.add(spawn(manager, new Vector2(100, 100)));
+    assertTrue(broadphase.overlapsAny(first));
+  }
+
+  @Test
+  public void testEnemyCostsPlayerALife() {
+    var stage = new Stage();
+    var layer = new Layer();
+    var player = Player.of(layer, stage);
+    layer.setPlayer(player);
+    layer.setStage(stage);
+    layer.init();
+
+    float tileSize = getTileSize();
+    player.setPos(new Vector2(10 * tileSize, 10 * tileSize));
+    int lives = player.getLives();
+    var manager = new EnemyManager(2);
+    spawn(manager, stage.getRoom(), new Vector2(20 * tileSize, 10 * tileSize));
+    layer.setEnemies(manager);
+    layer.update();
+    assertEquals(lives, player.getLives());
+
+    // Now one right where the player is
+    spawn(manager, stage.getRoom(), player.getPos());
+    layer.setEnemies(manager);
+    layer.update();
+    assertEquals(lives - 1, player.getLives());
+  }
+
+  ///////////// Helpers
+
+  private static Enemy spawn(EnemyManager manager, Vector2 pos) {
+    return spawn(manager, ROOM, pos);
+  }
+
+  private static Enemy spawn(EnemyManager manager, int room, Vector2 pos) {
+    return manager.spawn(room, pos.x(), pos.y(), SIZE, SIZE);
+  }
+
+  private static Vector2 randomPos(Random random) {
+    return new Vector2(
+        random.nextFloat() * NUM_COLUMNS * getTileSize(),
+        random.nextFloat() * NUM_ROWS * getTileSize());
+  }
+
+  private static Set<Set<Actor>> found(Broadphase broadphase) {
+    var out = new HashSet<Set<Actor>>();
+    broadphase.forEachOverlap((a, b) -> assertTrue(out.add(Set.of(a, b)), "Duplicate pair"));
+    return out;
+  }
+
+  private static Set<Set<Actor>> bruteForce(List<Enemy> enemies) {
+    var out = new HashSet<Set<Actor>>();
+    for (int i = 0; i < enemies.size(); i += 1) {
+      for (int j = i + 1; j < enemies.size(); j += 1) {
+        var a = enemies.get(i);
+        var b = enemies.get(j);
+        if (Broadphase.boundsOf(a).overlaps(Broadphase.boundsOf(b))) {
+          out.add(Set.of(a, b));
+        }
+      }
+    }
+    return out;
+  }
+}
@@ -0,0 +1,118 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Room.ROOM_ASHES;
+import static abbaye.model.Stage.TILE_EMPTY;
+import static abbaye.model.TileProperties.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import abbaye.AbbayeMain;
+import abbaye.basic.Vector2;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestCollectibles {
+  private static final short KINDS = (short) (HEART | CROSS | WAYPOINT);
+
+  @BeforeAll
+  public static void setUpBeforeClass() {
+    AbbayeMain.setGlEnabled(false);
+  }
+
+  @Test
+  public void testIndexCoversEveryPickupTile() {
+    var stage = new Stage();
+    stage.load("/map/map.txt");
+    var collectibles = stage.getCollectibles();
+    assertTrue(collectibles.count() > 0);
+
+    for (int room = 0; room < Stage.NUM_SCREENS; room += 1) {
+      var screen = stage.getScreen(room);
+      for (int row = 0; row < Stage.NUM_ROWS; row += 1) {
+        for (int col = 0; col < Stage.NUM_COLUMNS; col += 1) {
+          int group = collectibles.groupAt(room, row, col);
+          if (TileProperties.is(screen.get(row, col), KINDS)) {
+            assertTrue(group >= 0, "Tile " + row + "," + col + " of room " + room);
+            assertEquals(room, collectibles.room(group));
+            assertTrue(TileProperties.is(screen.get(row, col), collectibles.kind(group)));
+          } else {
+            assertEquals(-1, group);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testAshesHasTwoSeparateHearts() {
+    var stage = new Stage();
+    stage.load("/map/map.txt");
+    var hearts = groupsOf(stage, ROOM_ASHES.index(), HEART);
+    assertEquals(2, hearts.size());
+
+    // Collecting one heart leaves the other alone
+    var changed = new ArrayList<int[]>();
+    stage.addTileListener((room, row, col, tileType) -> changed.add(new int[] {row, col}));
+    var collectibles = stage.getCollectibles();
+    int first = hearts.get(0);
+    assertEquals(collectibles.size(first), stage.collect(first));
+    assertEquals(collectibles.size(first), changed.size());
+    for (var cell : changed) {
+      assertEquals(first, collectibles.groupAt(ROOM_ASHES.index(), cell[0], cell[1]));
+    }
+    int second = hearts.get(1);
+    var screen = stage.getScreen(ROOM_ASHES.index());
+    assertTrue(
+        TileProperties.is(
+            screen.get(collectibles.row(second, 0), collectibles.col(second, 0)), HEART));
+
+    // A second pickup of the same group changes nothing
+    assertEquals(0, stage.collect(first));
+  }
+
+  @Test
+  public void testPlayerCollectsCross() {
+    var stage = new Stage();
+    stage.load("/map/map.txt");
+    var collectibles = stage.getCollectibles();
+    int group = -1;
+    for (int g = 0; g < collectibles.count() && group < 0; g += 1) {
+      if (collectibles.kind(g) == CROSS) {
+        group = g;
+      }
+    }
+    assertTrue(group >= 0);
+
+    int room = collectibles.room(group);
+    stage.setRoom(room);
+    var player = Player.of(new Layer(), stage);
+    // The pickup probe is the row below the player's top-left tile
+    int row = collectibles.row(group, 0);
+    int col = collectibles.col(group, 0);
+    player.setPos(new Vector2(col * Stage.getTileSize(), (row - 1) * Stage.getTileSize()));
+
+    assertTrue(player.checkStaticObject());
+    assertEquals(1, player.getCrosses());
+    for (int i = 0; i < collectibles.size(group); i += 1) {
+      assertEquals(
+          TILE_EMPTY,
+          stage.getScreen(room).get(collectibles.row(group, i), collectibles.col(group, i)));
+    }
+    assertFalse(player.checkStaticObject());
+  }
+
+  ///////////// Helpers
+
+  private static List<Integer> groupsOf(Stage stage, int room, short kind) {
+    var collectibles = stage.getCollectibles();
+    var out = new ArrayList<Integer>();
+    for (int g = 0; g < collectibles.count(); g += 1) {
+      if (collectibles.room(g) == room && collectibles.kind(g) == kind) {
+        out.add(g);
+      }
+    }
+    return out;
+  }
+}
@@ -0,0 +1,82 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TestEnemyManager {
+  /* Screen pixels per pixel of the map file */
+  private static final float SCALE = getTileSize() / Player.PIXELS_PER_TILE;
+
+  @Test
+  public void testLoad() {
+    var enemies = EnemyManager.load();
+    int total = 0;
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      assertTrue(enemies.count(room) <= EnemyManager.FILE_SLOTS_PER_ROOM);
+      total += enemies.count(room);
+    }
+    assertTrue(total > 0);
+    assertEquals(0, enemies.count(0));
+
+    // Room 2 starts "001 056 144 000 128 040 000 056 224 005 000 001 013 006 015"
+    var first = enemies.get(2, 0);
+    assertEquals(1, first.getType());
+    assertEquals((56 + 1) * SCALE, first.getPos().x(), 0.001f);
+    assertEquals((144 + 6) * SCALE, first.getPos().y(), 0.001f);
+    assertEquals(12, first.getSize().x(), 0.001f);
+    assertEquals(9, first.getSize().y(), 0.001f);
+    assertEquals(Facing.LEFT, first.getDirection());
+    assertTrue(first.isHarmful());
+  }
+
+  @Test
+  public void testPatrolStaysInRange() {
+    var enemies = EnemyManager.load();
+    int room = 2;
+    var first = enemies.get(room, 0);
+    boolean turned = false;
+    for (int tick = 0; tick < 10_000; tick += 1) {
+      enemies.update(room);
+      float x = enemies.x[0 + room * EnemyManager.FILE_SLOTS_PER_ROOM];
+      // Range 56..224, with a step of overshoot allowed at each end
+      float step = 5 * EnemyManager.SPEED_SCALE * SCALE;
+      assertTrue(x >= 56 * SCALE - step && x <= 224 * SCALE + step, "x = " + x);
+      turned |= first.getDirection() == Facing.RIGHT;
+    }
+    assertTrue(turned);
+  }
+
+  @Test
+  public void testReset() {
+    var enemies = EnemyManager.load();
+    var first = enemies.get(2, 0);
+    var start = first.getPos();
+    var direction = first.getDirection();
+    for (int tick = 0; tick < 2_000; tick += 1) {
+      enemies.update(2);
+    }
+    assertNotEquals(start, first.getPos());
+
+    enemies.reset();
+    assertEquals(start, first.getPos());
+    assertEquals(direction, first.getDirection());
+  }
+
+  @Test
+  public void testOnlyActiveRoomMoves() {
+    var enemies = EnemyManager.load();
+    var other = enemies.get(2, 0).getPos();
+    enemies.update(3);
+    assertEquals(other, enemies.get(2, 0).getPos());
+  }
+
+  @Test
+  public void testRoomIsFull() {
+    var enemies = new EnemyManager(1);
+    enemies.spawn(0, 0, 0, 8, 8);
+    assertThrows(IllegalStateException.class, () -> enemies.spawn(0, 0, 0, 8, 8));
+  }
+}
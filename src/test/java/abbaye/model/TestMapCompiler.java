@@ -0,0 +1,73 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import abbaye.AbbayeMain;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestMapCompiler {
+
+  @BeforeAll
+  public static void setUpBeforeClass() {
+    AbbayeMain.setGlEnabled(false);
+  }
+
+  @Test
+  public void testRoundTrip(@TempDir Path dir) throws IOException {
+    var text = new Stage();
+    text.load("/map/map.txt");
+
+    var file = dir.resolve("map" + MapCompiler.SUFFIX);
+    MapCompiler.write(text, file);
+    // Header, room offsets and a short per cell
+    assertEquals(
+        MapCompiler.HEADER_BYTES
+            + NUM_SCREENS * Integer.BYTES
+            + NUM_SCREENS * NUM_ROWS * NUM_COLUMNS * Short.BYTES,
+        Files.size(file));
+
+    var compiled = new Stage();
+    compiled.load(file);
+    assertSameTiles(text, compiled);
+  }
+
+  @Test
+  public void testBuildCompilesDefaultMap() {
+    // The build step puts the compiled map next to the text one
+    assertTrue(Stage.defaultMap().endsWith(MapCompiler.SUFFIX));
+    var text = new Stage();
+    text.load("/map/map.txt");
+    var compiled = new Stage();
+    compiled.load(Stage.defaultMap());
+    assertSameTiles(text, compiled);
+  }
+
+  @Test
+  public void testRejectsOtherFiles(@TempDir Path dir) throws IOException {
+    var file = dir.resolve("bad" + MapCompiler.SUFFIX);
+    Files.writeString(file, "not a map at all");
+    var stage = new Stage();
+    assertThrows(IllegalArgumentException.class, () -> stage.load(file));
+  }
+
+  ///////////// Helpers
+
+  private static void assertSameTiles(Stage expected, Stage actual) {
+    for (int room = 0; room < NUM_SCREENS; room += 1) {
+      var e = expected.getScreen(room);
+      var a = actual.getScreen(room);
+      for (int row = 0; row < NUM_ROWS; row += 1) {
+        for (int col = 0; col < NUM_COLUMNS; col += 1) {
+          assertEquals(e.get(row, col), a.get(row, col), "Room " + room + ", " + row + "," + col);
+        }
+      }
+    }
+  }
+}
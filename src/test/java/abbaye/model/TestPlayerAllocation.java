@@ -0,0 +1,136 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static abbaye.model.Utils.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.lwjgl.glfw.GLFW.*;
+
+import abbaye.AbbayeMain;
+import abbaye.basic.Vector2;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.lwjgl.glfw.GLFWKeyCallbackI;
+
+/** The player tick is the hottest path in the game, so it must not feed the GC */
+public class TestPlayerAllocation {
+  private static final int WARMUP_TICKS = 200_000;
+  private static final int MEASURED_TICKS = 10_000;
+
+  @BeforeAll
+  public static void setUpBeforeClass() {
+    AbbayeMain.setGlEnabled(false);
+  }
+
+  @Test
+  public void testSteadyStateTickAllocatesNothing() {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    var stage = new Stage();
+    var layer = new Layer();
+    var player = Player.of(layer, stage);
+    layer.setPlayer(player);
+    layer.setStage(stage);
+    layer.init();
+
+    // A closed box, so the player walks, jumps and falls without leaving the room
+    setFloor(stage, 15);
+    setTiles(stage, 1, 4, 1, 14, 1);
+    setTiles(stage, 28, 4, 28, 14, 1);
+    player.setPos(new Vector2(10 * getTileSize(), 12 * getTileSize()));
+    var keys = player.moveCallback();
+
+    Runnable step = player::update;
+    warmUp(step, keys);
+
+    // Calibrate away whatever the measurement itself costs
+    long overhead = -threads.getCurrentThreadAllocatedBytes();
+    overhead += threads.getCurrentThreadAllocatedBytes();
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    runTicks(step, keys, MEASURED_TICKS);
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+
+    assertEquals(0, allocated, "Bytes allocated over " + MEASURED_TICKS + " ticks");
+  }
+
+  /** The whole layer tick, with enemies patrolling the room, must not allocate either */
+  @Test
+  public void testLayerTickWithEnemiesAllocatesNothing() {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    var stage = new Stage();
+    var layer = new Layer();
+    var player = Player.of(layer, stage);
+    layer.setPlayer(player);
+    layer.setStage(stage);
+
+    // A closed box, with a floor of solid tiles - bedrock is not solid
+    setTiles(stage, 1, 15, 28, 15, 1);
+    setTiles(stage, 1, 4, 1, 14, 1);
+    setTiles(stage, 28, 4, 28, 14, 1);
+    player.setPos(new Vector2(10 * getTileSize(), 12 * getTileSize()));
+    var keys = player.moveCallback();
+
+    // Two enemies pacing below the floor, out of the player's reach, so they cross cells
+    var enemies = new EnemyManager(EnemyManager.FILE_SLOTS_PER_ROOM);
+    int room = stage.getRoom();
+    for (int i = 0; i < 2; i += 1) {
+      enemies.spawn(room, 4 * getTileSize(), (18 + 2 * i) * getTileSize(), 2, 2);
+      enemies.vx[room * EnemyManager.FILE_SLOTS_PER_ROOM + i] = 3 + i;
+      enemies.min[room * EnemyManager.FILE_SLOTS_PER_ROOM + i] = 2 * getTileSize();
+      enemies.max[room * EnemyManager.FILE_SLOTS_PER_ROOM + i] = 26 * getTileSize();
+    }
+    layer.setEnemies(enemies);
+    layer.init();
+
+    Runnable step = layer::update;
+    warmUp(step, keys);
+
+    long overhead = -threads.getCurrentThreadAllocatedBytes();
+    overhead += threads.getCurrentThreadAllocatedBytes();
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    runTicks(step, keys, MEASURED_TICKS);
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+
+    assertEquals(0, allocated, "Bytes allocated over " + MEASURED_TICKS + " ticks");
+  }
+
+  ///////////// Helpers
+
+  /**
+   * Runs the ticks in the same chunks as the measurement, so the JIT has compiled the loop the way
+   * it will be measured, not just on-stack replaced one long loop. Until the compiled code settles,
+   * a deoptimization now and then puts objects that escape analysis had taken apart back on the
+   * heap, a few dozen bytes each time, so the warm-up is long.
+   */
+  private static void warmUp(Runnable step, GLFWKeyCallbackI keys) {
+    for (int done = 0; done < WARMUP_TICKS; done += MEASURED_TICKS) {
+      runTicks(step, keys, MEASURED_TICKS);
+    }
+  }
+
+  /** Walks back and forth, jumping now and then */
+  private static void runTicks(Runnable step, GLFWKeyCallbackI keys, int ticks) {
+    for (int tick = 0; tick < ticks; tick += 1) {
+      switch (tick % 240) {
+        case 0 -> keys.invoke(0, GLFW_KEY_RIGHT, 0, GLFW_PRESS, 0);
+        case 100 -> keys.invoke(0, GLFW_KEY_UP, 0, GLFW_PRESS, 0);
+        case 120 -> {
+          keys.invoke(0, GLFW_KEY_UP, 0, GLFW_RELEASE, 0);
+          keys.invoke(0, GLFW_KEY_LEFT, 0, GLFW_PRESS, 0);
+        }
+        case 200 -> keys.invoke(0, GLFW_KEY_LEFT, 0, GLFW_RELEASE, 0);
+        default -> {}
+      }
+      step.run();
+    }
+  }
+}
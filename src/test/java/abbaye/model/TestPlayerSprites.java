@@ -0,0 +1,61 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Facing.LEFT;
+import static abbaye.model.Facing.RIGHT;
+import static abbaye.model.Vertical.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TestPlayerSprites {
+
+  @Test
+  public void testFramesArePrebuilt() {
+    // Same state, same instance - nothing is allocated per frame
+    assertSame(
+        PlayerSprites.frame(LEFT, NEUTRAL, false, 3), PlayerSprites.frame(LEFT, NEUTRAL, false, 3));
+  }
+
+  @Test
+  public void testWalkCycle() {
+    var first = PlayerSprites.frame(LEFT, NEUTRAL, false, 0);
+    assertSame(first, PlayerSprites.frame(LEFT, NEUTRAL, false, 6));
+
+    var second = PlayerSprites.frame(LEFT, NEUTRAL, false, 7);
+    assertNotSame(first, second);
+    assertSame(second, PlayerSprites.frame(LEFT, NEUTRAL, false, 13));
+  }
+
+  @Test
+  public void testJumpOverridesWalkAndCrouch() {
+    var jump = PlayerSprites.frame(RIGHT, JUMP, false, 0);
+    assertSame(jump, PlayerSprites.frame(RIGHT, JUMP, true, 9));
+    assertSame(jump, PlayerSprites.frame(RIGHT, FALL, false, 0));
+    assertNotSame(jump, PlayerSprites.frame(RIGHT, NEUTRAL, false, 0));
+    assertNotSame(
+        PlayerSprites.frame(RIGHT, NEUTRAL, true, 0),
+        PlayerSprites.frame(RIGHT, NEUTRAL, false, 0));
+  }
+
+  @Test
+  public void testFacingFlipsHorizontally() {
+    var left = PlayerSprites.frame(LEFT, NEUTRAL, false, 0);
+    var right = PlayerSprites.frame(RIGHT, NEUTRAL, false, 0);
+
+    assertEquals(left.u1(), right.u2());
+    assertEquals(left.u2(), right.u1());
+    assertEquals(left.v1(), right.v1());
+    assertEquals(left.v2(), right.v2());
+  }
+
+  @Test
+  public void testJumpFrameMatchesOldStandingTiles() {
+    // The sprite previously drawn for every state was tiles 44/45, rows 11-13
+    var jump = PlayerSprites.frame(LEFT, JUMP, false, 0);
+    assertEquals(44.0f / Stage.TILES_PER_ROW, jump.u1(), 0.0001f);
+    assertEquals(46.0f / Stage.TILES_PER_ROW, jump.u2(), 0.0001f);
+    assertEquals(1 - 11.0f / Stage.TILES_PER_COL, jump.v1(), 0.0001f);
+    assertEquals(1 - 14.0f / Stage.TILES_PER_COL, jump.v2(), 0.0001f);
+  }
+}
@@ -0,0 +1,149 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import abbaye.SimulationRunner;
+import abbaye.SimulationRunner.InputEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class TestRewindBuffer {
+
+  @Test
+  public void testDeltaRoundTrip() {
+    var random = new Random(42);
+    var from = new byte[500];
+    random.nextBytes(from);
+    var out = new byte[600];
+
+    // A few scattered changes
+    var to = Arrays.copyOf(from, 500);
+    to[3] += 1;
+    to[4] += 1;
+    to[250] += 1;
+    to[499] += 1;
+    assertDecodes(from, to, out);
+
+    // Growing, e.g. a tile changed for the first time, and shrinking back
+    var longer = Arrays.copyOf(from, 530);
+    longer[520] = 7;
+    assertDecodes(from, longer, out);
+    assertDecodes(longer, from, out);
+
+    // Nothing the same is not worth a delta
+    var other = new byte[500];
+    random.nextBytes(other);
+    assertEquals(-1, RewindBuffer.encode(from, from.length, other, other.length, out));
+  }
+
+  @Test
+  public void testRewindRestoresEarlierTick() {
+    var runner = SimulationRunner.of();
+    var rewind = RewindBuffer.of(runner.getSnapshot(), 300);
+    var xs = new float[400];
+    var ys = new float[400];
+    runner.run(1, List.of(InputEvent.parse("0 RIGHT PRESS")));
+    for (int t = 0; t < xs.length; t += 1) {
+      if (t == 150) {
+        runner.run(1, List.of(InputEvent.parse("0 UP PRESS")));
+      } else {
+        runner.run(1, List.of());
+      }
+      rewind.record(runner.getTick());
+      xs[t] = runner.getPlayer().getPos().x();
+      ys[t] = runner.getPlayer().getPos().y();
+    }
+
+    long newest = runner.getTick();
+    long rewound = rewind.rewind(100);
+    assertEquals(newest - 100, rewound);
+    int t = xs.length - 1 - 100;
+    assertEquals(xs[t], runner.getPlayer().getPos().x());
+    assertEquals(ys[t], runner.getPlayer().getPos().y());
+
+    // Play carries on from there, and can be wound back again
+    runner.run(1, List.of());
+    rewind.record(rewound + 1);
+    assertEquals(rewound - 49, rewind.rewind(50));
+    assertEquals(xs[t - 49], runner.getPlayer().getPos().x());
+    assertEquals(ys[t - 49], runner.getPlayer().getPos().y());
+  }
+
+  @Test
+  public void testRewindRestoresTiles() {
+    var runner = SimulationRunner.of();
+    var stage = runner.getStage();
+    var rewind = RewindBuffer.of(runner.getSnapshot(), 100);
+    int tile = stage.getScreen(4).get(2, 2);
+    rewind.record(0);
+    stage.setTile(4, 2, 2, tile + 1);
+    rewind.record(1);
+    stage.setTile(4, 2, 2, tile + 2);
+    rewind.record(2);
+
+    rewind.rewind(1);
+    assertEquals(tile + 1, stage.getScreen(4).get(2, 2));
+    rewind.rewind(1);
+    assertEquals(tile, stage.getScreen(4).get(2, 2));
+  }
+
+  @Test
+  public void testHistoryIsBounded() {
+    var runner = SimulationRunner.of();
+    var rewind = RewindBuffer.of(runner.getSnapshot(), 120);
+    int full = runner.getSnapshot().take(0).remaining();
+    runner.run(1, List.of(InputEvent.parse("0 RIGHT PRESS")));
+    for (int t = 0; t < 1000; t += 1) {
+      runner.run(1, List.of());
+      rewind.record(runner.getTick());
+    }
+
+    assertTrue(rewind.size() >= 120, "Kept " + rewind.size());
+    assertTrue(rewind.size() <= 120 + RewindBuffer.KEYFRAME_INTERVAL, "Kept " + rewind.size());
+    assertTrue(
+        rewind.bytesUsed() < rewind.size() * full / 4,
+        rewind.bytesUsed() + " bytes for " + rewind.size() + " snapshots of " + full);
+    assertTrue(rewind.rewind(10_000) >= runner.getTick() - 120 - RewindBuffer.KEYFRAME_INTERVAL);
+  }
+
+  @Test
+  public void testRecordAllocatesNothing() {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    var runner = SimulationRunner.of();
+    var rewind = RewindBuffer.of(runner.getSnapshot(), 60);
+    runner.run(1, List.of(InputEvent.parse("0 LEFT PRESS")));
+    for (int t = 0; t < 20_000; t += 1) {
+      rewind.record(t);
+    }
+
+    long overhead = -threads.getCurrentThreadAllocatedBytes();
+    overhead += threads.getCurrentThreadAllocatedBytes();
+    long allocated = Long.MAX_VALUE;
+    for (int round = 0; round < 5 && allocated > 0; round += 1) {
+      long before = threads.getCurrentThreadAllocatedBytes();
+      for (int t = 0; t < 1000; t += 1) {
+        rewind.record(t);
+      }
+      allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before - overhead);
+    }
+    assertEquals(0, allocated, "Bytes allocated over 1000 records");
+  }
+
+  ///////////// Helpers
+
+  private static void assertDecodes(byte[] from, byte[] to, byte[] out) {
+    int length = RewindBuffer.encode(from, from.length, to, to.length, out);
+    assertTrue(length > 0 && length < to.length / 4, "Delta of " + length);
+    var state = Arrays.copyOf(from, 600);
+    assertEquals(to.length, RewindBuffer.decode(out, 0, length, state));
+    assertArrayEquals(to, Arrays.copyOf(state, to.length));
+  }
+}
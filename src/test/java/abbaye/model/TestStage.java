@@ -1,12 +1,15 @@
-/* Copyright (C) The Authors 2025 */
+/* Copyright (C) The Authors 2025-2026 */
 package abbaye.model;
 
+import static abbaye.model.Stage.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.lwjgl.glfw.GLFW.*;
 
 import abbaye.AbbayeMain;
 import abbaye.basic.Vector2;
+import java.util.ArrayList;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.lwjgl.glfw.GLFWKeyCallbackI;
@@ -58,7 +61,7 @@ public class TestStage {
     final var stage = new Stage();
     stage.load();
     final var level4 = stage.getScreen(4);
-    assertEquals(22, level4.length);
+    assertEquals(22, level4.rows());
 
     final var layer = new Layer();
     final var p = Player.of(layer, stage);
@@ -76,4 +79,94 @@ public class TestStage {
 
     assertTrue(true);
   }
+
+  @Test
+  public void testBorderRepeatsEdgeTiles() {
+    final var stage = new Stage();
+    stage.setTile(3, 0, 0, 7);
+    stage.setTile(3, NUM_ROWS - 1, 10, 9);
+    final var screen = stage.getScreen(3);
+    for (var b = 1; b <= BORDER; b += 1) {
+      assertEquals(7, screen.get(-b, 0));
+      assertEquals(7, screen.get(0, -b));
+      assertEquals(7, screen.get(-b, -b));
+      assertEquals(9, screen.get(NUM_ROWS - 1 + b, 10));
+    }
+    // Neighbouring rooms are untouched
+    assertEquals(0, stage.getScreen(2).get(0, 0));
+    assertEquals(0, stage.getScreen(4).get(0, 0));
+
+    // Changing an edge tile again updates its border copies too
+    stage.setTile(3, 0, 0, 0);
+    assertEquals(0, screen.get(-BORDER, -BORDER));
+  }
+
+  @Test
+  public void testRestartRestoresTouchedTiles() {
+    final var stage = new Stage();
+    stage.load("/map/map.txt");
+    final var fresh = new Stage();
+    fresh.load("/map/map.txt");
+
+    final var original = stage.getScreen(7).get(4, 5);
+    stage.setTile(7, 4, 5, original + 1);
+    stage.setTile(12, 0, 0, 1);
+    stage.setTile(12, 0, 0, 2);
+    stage.moveDown();
+
+    final var changed = new ArrayList<String>();
+    stage.addTileListener((room, row, col, tileType) -> changed.add(room + ":" + row + "," + col));
+    assertEquals(2, stage.restart());
+    assertEquals(2, changed.size());
+    assertEquals(fresh.getRoom(), stage.getRoom());
+    for (var room = 0; room < NUM_SCREENS; room += 1) {
+      for (var row = -BORDER; row < NUM_ROWS + BORDER; row += 1) {
+        for (var col = -BORDER; col < NUM_COLUMNS + BORDER; col += 1) {
+          assertEquals(fresh.getScreen(room).get(row, col), stage.getScreen(room).get(row, col));
+        }
+      }
+    }
+
+    // Nothing left to restore
+    assertEquals(0, stage.restart());
+  }
+
+  @Test
+  public void testRestoreRoom() {
+    final var stage = new Stage();
+    stage.load("/map/map.txt");
+    final var a = stage.getScreen(3).get(5, 5);
+    final var b = stage.getScreen(4).get(5, 5);
+    stage.setTile(3, 5, 5, a + 1);
+    stage.setTile(4, 5, 5, b + 1);
+
+    assertEquals(1, stage.restoreRoom(3));
+    assertEquals(a, stage.getScreen(3).get(5, 5));
+    assertNotEquals(b, stage.getScreen(4).get(5, 5));
+  }
+
+  @Test
+  public void testLayerRestart() {
+    final var stage = new Stage();
+    stage.load("/map/map.txt");
+    final var layer = new Layer();
+    final var p = Player.of(layer, stage);
+    layer.setPlayer(p);
+    layer.setStage(stage);
+    layer.setEnemies(EnemyManager.load());
+    final var start = p.getPos();
+
+    p.setPos(new Vector2(640, 320));
+    p.loseLife();
+    stage.moveRight();
+    for (var i = 0; i < 30; i += 1) {
+      layer.update();
+    }
+
+    layer.restart();
+    assertEquals(start, p.getPos());
+    assertEquals(5, p.getLives());
+    assertEquals(0, p.getCrosses());
+    assertEquals(START_ROOM_Y * SCREENS_X + START_ROOM_X, stage.getRoom());
+  }
 }
@@ -0,0 +1,106 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import abbaye.basic.BoundingBox2;
+import abbaye.basic.Vector2;
+import org.junit.jupiter.api.Test;
+
+public class TestSweptCollision {
+  private static final float TILE = getTileSize();
+  private static final int SOLID = 1;
+
+  @Test
+  public void testLongFallStopsOnPlatform() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    stage.setTile(0, 15, 5, TILE_PLATFORM);
+
+    // Twelve tiles of fall in one step, straight through a platform one tile thick
+    var hit = SweptCollision.sweep(room, box(5, 2, 1, 2), 0, 12 * TILE);
+    assertTrue(hit.isHit());
+    assertEquals(0, hit.normalX());
+    assertEquals(-1, hit.normalY());
+    assertEquals(15, hit.row());
+    assertEquals(5, hit.col());
+    // The bottom edge starts at row 4 and lands on top of row 15
+    assertEquals(11 * TILE, hit.time() * 12 * TILE, 0.01f);
+  }
+
+  @Test
+  public void testPlatformDoesNotBlockFromBelow() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    stage.setTile(0, 10, 5, TILE_PLATFORM);
+    assertFalse(SweptCollision.sweep(room, box(5, 12, 1, 2), 0, -8 * TILE).isHit());
+
+    // But a solid block does
+    stage.setTile(0, 10, 5, SOLID);
+    var hit = SweptCollision.sweep(room, box(5, 12, 1, 2), 0, -8 * TILE);
+    assertEquals(1, hit.normalY());
+    assertEquals(10, hit.row());
+  }
+
+  @Test
+  public void testThinWallStopsLongStep() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    for (int row = 0; row < NUM_ROWS; row += 1) {
+      stage.setTile(0, row, 12, SOLID);
+    }
+
+    var right = SweptCollision.sweep(room, box(2, 10, 2, 3), 20 * TILE, 0);
+    assertEquals(-1, right.normalX());
+    assertEquals(12, right.col());
+    assertEquals(8 * TILE, right.time() * 20 * TILE, 0.01f);
+
+    var left = SweptCollision.sweep(room, box(20, 10, 2, 3), -20 * TILE, 0);
+    assertEquals(1, left.normalX());
+    assertEquals(12, left.col());
+    assertEquals(7 * TILE, left.time() * 20 * TILE, 0.01f);
+  }
+
+  @Test
+  public void testDiagonalLandsOnTop() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    stage.setTile(0, 10, 10, SOLID);
+    // Down and to the right, passing the block's column first and landing on its top
+    var hit = SweptCollision.sweep(room, box(6, 5, 1, 1), 5 * TILE, 5 * TILE);
+    assertTrue(hit.isHit());
+    assertEquals(-1, hit.normalY());
+    assertEquals(10, hit.row());
+    assertEquals(10, hit.col());
+    assertEquals(0.8f, hit.time(), 0.0001f);
+  }
+
+  @Test
+  public void testTouchingStartsBlocked() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    stage.setTile(0, 4, 5, SOLID);
+    var hit = SweptCollision.sweep(room, box(5, 2, 1, 2), 0, TILE / 4);
+    assertEquals(0.0f, hit.time());
+  }
+
+  @Test
+  public void testOpenSpace() {
+    var stage = new Stage();
+    var room = stage.getScreen(0);
+    assertSame(SweptCollision.Hit.NONE, SweptCollision.sweep(room, box(5, 5, 2, 3), 3 * TILE, 0));
+    assertSame(SweptCollision.Hit.NONE, SweptCollision.sweep(room, box(5, 5, 2, 3), 0, 0));
+    // Off the room is open too
+    assertFalse(SweptCollision.sweep(room, box(30, 5, 1, 1), 10 * TILE, 0).isHit());
+  }
+
+  ///////////// Helpers
+
+  /** A box from a tile position and size */
+  private static BoundingBox2 box(int col, int row, int width, int height) {
+    return new BoundingBox2(
+        new Vector2((col + width / 2.0f) * TILE, (row + height / 2.0f) * TILE),
+        new Vector2(width * TILE, height * TILE));
+  }
+}
@@ -0,0 +1,54 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class TestTileAnimations {
+
+  @Test
+  public void testAnimatedTiles() {
+    for (int heart = 401; heart < 405; heart += 1) {
+      assertTrue(Stage.isAnimatedTile(heart));
+    }
+    for (int cross = 409; cross < 413; cross += 1) {
+      assertTrue(Stage.isAnimatedTile(cross));
+    }
+    // The map also has crosses that are not picked up, which animate with the same strip
+    for (int cross = 425; cross < 429; cross += 1) {
+      assertTrue(Stage.isAnimatedTile(cross));
+      assertEquals(TileAnimations.of(409), TileAnimations.of(cross));
+    }
+    assertTrue(Stage.isAnimatedTile(Stage.TILE_DOOR));
+    assertTrue(Stage.isAnimatedTile(Stage.TILE_CROSS_BRIGHTNESS));
+
+    assertFalse(Stage.isAnimatedTile(Stage.TILE_EMPTY));
+    assertFalse(Stage.isAnimatedTile(Stage.TILE_PLATFORM));
+    assertFalse(Stage.isAnimatedTile(-1));
+    assertFalse(Stage.isAnimatedTile(Stage.TILE_TYPES));
+  }
+
+  @Test
+  public void testStaticEntry() {
+    var none = TileAnimations.get(TileAnimations.of(Stage.TILE_EMPTY));
+    assertEquals(0, TileAnimations.of(Stage.TILE_EMPTY));
+    assertEquals(1, none.frames());
+    assertEquals(0.0f, none.strideU());
+    assertTrue(none.periodSeconds() > 0);
+  }
+
+  @Test
+  public void testHeartsShareAStrip() {
+    var strip = TileAnimations.get(TileAnimations.of(401));
+    assertSame(strip, TileAnimations.get(TileAnimations.of(404)));
+    assertEquals(2, strip.frames());
+    assertEquals(32.0f / (8 * Stage.TILES_PER_ROW), strip.strideU(), 0.00001f);
+    assertEquals(0.25f, strip.periodSeconds(), 0.00001f);
+  }
+
+  @Test
+  public void testTableFitsShader() {
+    assertTrue(TileAnimations.count() <= TileAnimations.MAX_ANIMATIONS);
+  }
+}
@@ -0,0 +1,65 @@
+/* Copyright (C) The Authors 2026 */
+package abbaye.model;
+
+import static abbaye.model.Stage.*;
+import static abbaye.model.TileProperties.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/** Checks the lookup table against the range predicates that Player used to evaluate inline */
+public class TestTileProperties {
+
+  @Test
+  public void testMatchesRangePredicates() {
+    for (int t = -5; t < TILE_TYPES + 5; t += 1) {
+      assertEquals(solidLeft(t), TileProperties.is(t, SOLID_LEFT), "solid left " + t);
+      assertEquals(solidRight(t), TileProperties.is(t, SOLID_RIGHT), "solid right " + t);
+      assertEquals(ground(t), TileProperties.is(t, GROUND), "ground " + t);
+      assertEquals(roof(t), TileProperties.is(t, ROOF), "roof " + t);
+      assertEquals(t == TILE_PLATFORM, TileProperties.is(t, PLATFORM), "platform " + t);
+      assertEquals(t == TILE_STATIC_HAZARD, TileProperties.is(t, HAZARD), "hazard " + t);
+      assertEquals(t > 400 && t < 405, TileProperties.is(t, HEART), "heart " + t);
+      assertEquals(t > 408 && t < 413, TileProperties.is(t, CROSS), "cross " + t);
+      assertEquals(t > 320 && t < 327, TileProperties.is(t, WAYPOINT), "waypoint " + t);
+    }
+  }
+
+  @Test
+  public void testCombinedFlags() {
+    assertEquals(true, TileProperties.is(401, (short) (HEART | CROSS)));
+    assertEquals(false, TileProperties.is(TILE_EMPTY, (short) (HEART | CROSS)));
+    assertEquals(0, TileProperties.flags(TILE_TYPES));
+  }
+
+  ///////////// The original predicates
+
+  private static boolean solidLeft(int tile) {
+    return tile > 0
+            && (tile < TILE_SOLID_MAX)
+            && (tile != TILE_PASSABLE)
+            && (tile != TILE_PASSABLE_VARIANT_1)
+        || ((tile == TILE_SPECIAL_COLLISION)
+            || ((tile > TILE_SPECIAL_LEFT_MIN) && (tile < TILE_SPECIAL_LEFT_MAX)));
+  }
+
+  private static boolean solidRight(int tile) {
+    return ((tile > 0)
+            && (tile < TILE_SOLID_MAX)
+            && (tile != TILE_PASSABLE)
+            && (tile != TILE_PASSABLE_VARIANT_1))
+        || ((tile > TILE_SPECIAL_RIGHT_MIN) && (tile < TILE_SPECIAL_RIGHT_MAX));
+  }
+
+  private static boolean ground(int tile) {
+    return (tile > 0) && (tile < TILE_SOLID_MAX) && (tile != TILE_PASSABLE_VARIANT_1);
+  }
+
+  private static boolean roof(int tile) {
+    return (tile > 0)
+        && (tile < 105)
+        && (tile != TILE_PASSABLE)
+        && (tile != TILE_PLATFORM)
+        && (tile != TILE_PASSABLE_VARIANT_1);
+  }
+}
@@ -22,7 +22,7 @@ public class Utils {
 
   /** Helper to set the floor in the current room */
   static void setStep(Stage stage, final int floorLevel) {
-    var stagedata = stage.getScreen(stage.getRoom());
+    int room = stage.getRoom();
     int[] row1 = {
       101, 102, 103, 101, 0, 0, 0, 102,
       103, 0, 101, 0, 102, 103, 0, 102,
@@ -36,8 +36,8 @@ public class Utils {
       1, 2, 0, 102, 103, 0, 101, 101
     };
     for (int x = 0; x < NUM_COLUMNS; x += 1) {
-      stagedata[floorLevel + 1][x] = row1[x];
-      stagedata[floorLevel + 2][x] = row2[x];
+      stage.setTile(room, floorLevel + 1, x, row1[x]);
+      stage.setTile(room, floorLevel + 2, x, row2[x]);
     }
   }
 
@@ -50,17 +50,16 @@ public class Utils {
   static void setSolidLevel(
       Stage stage, final int levelStart, final int levelEnd, boolean hasSoil) {
     int room = stage.getRoom();
-    var stagedata = stage.getScreen(room);
     // Bedrock
     for (int y = levelStart; y < levelEnd; y += 1) {
       for (int x = 0; x < NUM_COLUMNS; x += 1) {
-        stagedata[y][x] = x % 2 == 0 ? TILE_BEDROCK1 : TILE_BEDROCK2;
+        stage.setTile(room, y, x, x % 2 == 0 ? TILE_BEDROCK1 : TILE_BEDROCK2);
       }
     }
     if (hasSoil) {
       // Special case - topsoil
       for (int x = 0; x < NUM_COLUMNS; x += 1) {
-        stagedata[levelStart][x] = x % 2 == 0 ? TILE_TOPSOIL1 : TILE_TOPSOIL2;
+        stage.setTile(room, levelStart, x, x % 2 == 0 ? TILE_TOPSOIL1 : TILE_TOPSOIL2);
       }
     }
   }
@@ -74,9 +73,8 @@ public class Utils {
    * @param tileType - type of tile
    */
   static void setTile(Stage stage, int x, int y, int tileType) {
-    var stagedata = stage.getScreen(stage.getRoom());
     if (y >= 0 && y < NUM_ROWS && x >= 0 && x < NUM_COLUMNS) {
-      stagedata[y][x] = tileType;
+      stage.setTile(stage.getRoom(), y, x, tileType);
     }
   }
 